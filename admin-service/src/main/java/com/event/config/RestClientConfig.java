@@ -1,26 +1,40 @@
 package com.event.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+
+/**
+ * RestClients for inter-service calls (shared HttpClient, bulkhead and retry setup in RestClientConfigSupport)
+ */
 @Configuration
-public class RestClientConfig {
+public class RestClientConfig extends RestClientConfigSupport {
 
     @Bean("userClient")
-    public RestClient userRestClient(RestClient.Builder builder) {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(60000);
-        return builder.requestFactory(factory).build();
+    public RestClient userRestClient(
+            RestClient.Builder builder,
+            HttpClient serviceHttpClient,
+            MeterRegistry meterRegistry,
+            @Value("${services.user-service.url:http://user-service:8083}") String baseUrl,
+            @Value("${services.user-service.read-timeout-ms:1500}") long readTimeoutMs,
+            @Value("${services.user-service.max-concurrent:50}") int maxConcurrent
+    ) {
+        return build(builder, serviceHttpClient, meterRegistry, "user-service", baseUrl, readTimeoutMs, maxConcurrent);
     }
 
     @Bean("eventClient")
-    public RestClient eventRestClient(RestClient.Builder builder) {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(60000);
-        return builder.requestFactory(factory).build();
+    public RestClient eventRestClient(
+            RestClient.Builder builder,
+            HttpClient serviceHttpClient,
+            MeterRegistry meterRegistry,
+            @Value("${services.event-service.url:http://event-service:8084}") String baseUrl,
+            @Value("${services.event-service.read-timeout-ms:2000}") long readTimeoutMs,
+            @Value("${services.event-service.max-concurrent:50}") int maxConcurrent
+    ) {
+        return build(builder, serviceHttpClient, meterRegistry, "event-service", baseUrl, readTimeoutMs, maxConcurrent);
     }
 }
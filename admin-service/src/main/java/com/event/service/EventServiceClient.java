@@ -1,8 +1,7 @@
 package com.event.service;
 
 import com.event.dto.EventDTO;
-import com.event.dto.InteractionDTO;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.event.dto.PageResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,7 +11,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -20,7 +18,6 @@ import java.util.stream.Collectors;
 public class EventServiceClient {
 
     private final RestClient eventClient;
-    private final ObjectMapper objectMapper;
 
     @Value("${services.event-url:http://event-service:8084}")
     private String eventServiceUrl;
@@ -28,8 +25,8 @@ public class EventServiceClient {
 
     public List<EventDTO> getEvents(String status, int page, int size) {
         try {
-            // 1. Fetch as Raw Map
-            Map<String, Object> response = eventClient.get()
+            // Decoded straight from the response stream into EventDTOs (no intermediate Map)
+            PageResponse<EventDTO> response = eventClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/api/events/getAll") // Ensure this matches your Controller path
                             // Only adds "status" parameter if it is NOT null
@@ -38,19 +35,9 @@ public class EventServiceClient {
                             .queryParam("size", size)
                             .build())
                     .retrieve()
-                    .body(new ParameterizedTypeReference<Map<String, Object>>() {});
+                    .body(new ParameterizedTypeReference<PageResponse<EventDTO>>() {});
 
-            if (response == null || !response.containsKey("content")) {
-                return Collections.emptyList();
-            }
-
-            // 2. Extract content
-            List<?> content = (List<?>) response.get("content");
-
-            // 3. Convert to DTOs
-            return content.stream()
-                    .map(item -> objectMapper.convertValue(item, EventDTO.class))
-                    .collect(Collectors.toList());
+            return response != null ? response.getContent() : Collections.emptyList();
 
         } catch (Exception e) {
             log.error("Error fetching events with status {}: {}", status, e.getMessage());
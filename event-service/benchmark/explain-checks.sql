@@ -0,0 +1,95 @@
+-- Query-plan assertions for the hot event-service queries.
+--
+-- Runs EXPLAIN on the SQL shapes the service issues (with literal values taken from the data) and fails
+-- with the offending plan when an expected index is not used. Run against a database loaded with
+-- benchmark/seed.sql, so the planner sees realistic row counts:
+--
+--   psql "$DATABASE_URL" -f benchmark/explain-checks.sql
+\set ON_ERROR_STOP on
+
+CREATE OR REPLACE FUNCTION pg_temp.assert_plan(label text, query text, expected text)
+RETURNS void AS $$
+DECLARE
+    plan json;
+BEGIN
+    EXECUTE 'EXPLAIN (FORMAT JSON) ' || query INTO plan;
+    IF position(expected IN plan::text) = 0 THEN
+        RAISE EXCEPTION E'% : expected % in plan\n%', label, expected, jsonb_pretty(plan::jsonb);
+    END IF;
+    RAISE NOTICE '% : ok (%)', label, expected;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    v_user uuid;
+    v_host uuid;
+    v_category uuid;
+    event_ids text;
+    point text := 'ST_SetSRID(ST_MakePoint(3.38, 6.52), 4326)::geography';
+BEGIN
+    SELECT i.user_id INTO v_user FROM interactions i GROUP BY i.user_id ORDER BY count(*) DESC LIMIT 1;
+    SELECT e.host_id, e.category_id INTO v_host, v_category FROM events e LIMIT 1;
+    SELECT string_agg(quote_literal(id::text) || '::uuid', ', ') INTO event_ids
+    FROM (SELECT id FROM events ORDER BY id LIMIT 20) ids;
+
+    -- /upcoming/cursor (keyset after a position)
+    PERFORM pg_temp.assert_plan('upcoming keyset',
+        'SELECT * FROM events e WHERE e.status = ''APPROVED'' AND e.start_time > now()::timestamp '
+        || 'AND (e.start_time > now()::timestamp + interval ''30 days'' '
+        || 'OR (e.start_time = now()::timestamp + interval ''30 days'' AND e.id > ''00000000-0000-0000-0000-000000000000'')) '
+        || 'ORDER BY e.start_time ASC, e.id ASC LIMIT 201',
+        '"Index Name": "idx_events_approved_start_time"');
+
+    -- /nearby (KNN ordering with a radius re-check)
+    PERFORM pg_temp.assert_plan('nearby',
+        'SELECT e.id, ST_Distance(e.location, ' || point || ') / 1000.0 FROM events e '
+        || 'WHERE ST_DWithin(e.location, ' || point || ', 10000) '
+        || 'AND e.status = ''APPROVED'' AND e.start_time > now()::timestamp '
+        || 'ORDER BY e.location <-> ' || point || ' LIMIT 50',
+        '"Index Name": "idx_events_approved_location"');
+
+    -- /search with a keyword
+    PERFORM pg_temp.assert_plan('keyword search',
+        'SELECT e.id FROM events e WHERE e.search_vector @@ to_tsquery(''english'', ''jazz & 424:*'') '
+        || 'ORDER BY e.start_time ASC, e.id ASC LIMIT 20',
+        '"Index Name": "idx_events_search_vector"');
+
+    -- /category/{id}/cursor
+    PERFORM pg_temp.assert_plan('category keyset',
+        format('SELECT * FROM events e WHERE e.category_id = %L '
+            || 'AND (e.start_time > now()::timestamp OR (e.start_time = now()::timestamp AND e.id > ''00000000-0000-0000-0000-000000000000'')) '
+            || 'ORDER BY e.start_time ASC, e.id ASC LIMIT 21', v_category),
+        '"Index Name": "idx_events_category_start_time"');
+
+    -- /host/me/cursor
+    PERFORM pg_temp.assert_plan('host keyset',
+        format('SELECT * FROM events e WHERE e.host_id = %L '
+            || 'AND (e.created_at < ''9999-12-31'' OR (e.created_at = ''9999-12-31'' AND e.id < ''ffffffff-ffff-ffff-ffff-ffffffffffff'')) '
+            || 'ORDER BY e.created_at DESC, e.id DESC LIMIT 21', v_host),
+        '"Index Name": "idx_events_host_created_at"');
+
+    -- SAVE/RSVP state for a page of events (InteractionStateCache)
+    PERFORM pg_temp.assert_plan('interaction state',
+        format('SELECT i.event_id, i.type FROM interactions i WHERE i.user_id = %L '
+            || 'AND i.event_id IN (%s) AND i.type IN (''SAVE'', ''RSVP'')', v_user, event_ids),
+        '"Node Type": "Index Only Scan"');
+
+    -- Saved events of a user
+    PERFORM pg_temp.assert_plan('saved events',
+        format('SELECT i.event_id FROM interactions i WHERE i.user_id = %L AND i.type = ''SAVE''', v_user),
+        '"Index Name": "idx_interactions_user_type_event"');
+
+    -- /api/interactions/user/{userId}
+    PERFORM pg_temp.assert_plan('recent history',
+        format('SELECT * FROM interactions i WHERE i.user_id = %L ORDER BY i.created_at DESC LIMIT 500', v_user),
+        '"Index Name": "idx_interactions_user_created_at"');
+
+    -- /api/interactions/feed (keyset on user_id, id, resumed after a user)
+    PERFORM pg_temp.assert_plan('interaction feed',
+        format('SELECT i.* FROM interactions i WHERE i.created_at >= now()::timestamp - interval ''180 days'' '
+            || 'AND i.user_id >= %1$L AND (i.user_id > %1$L OR (i.user_id = %1$L AND i.id > ''00000000-0000-0000-0000-000000000000'')) '
+            || 'ORDER BY i.user_id, i.id LIMIT 2000', v_user),
+        '"Index Name": "idx_interactions_user_id"');
+END;
+$$;
@@ -0,0 +1,87 @@
+-- Benchmark dataset for event-service query plans.
+--
+-- Loads synthetic events around Lagos and interactions from synthetic users into a migrated database
+-- (run the service once, or Flyway, first). Not for production databases.
+--
+--   psql "$DATABASE_URL" -v events=500000 -v users=50000 -v interactions=2000000 -f benchmark/seed.sql
+--   psql "$DATABASE_URL" -f benchmark/explain-checks.sql
+\set ON_ERROR_STOP on
+\if :{?events}
+\else
+    \set events 500000
+\endif
+\if :{?users}
+\else
+    \set users 50000
+\endif
+\if :{?interactions}
+\else
+    \set interactions 2000000
+\endif
+
+BEGIN;
+
+-- ~75% approved, start times from 60 days ago to 240 days ahead, hosts and venues reused like real data
+INSERT INTO events (title, description, category_id, host_id, venue, address, location,
+                    start_time, end_time, ticket_price, ticket_limit, tickets_sold, verified, status)
+SELECT 'Benchmark ' || (ARRAY['jazz night', 'tech meetup', 'food market', 'fashion show', 'art walk',
+                              'comedy show', 'startup pitch', 'yoga session'])[1 + g % 8] || ' ' || g,
+       'Synthetic event ' || g || ' for query plan benchmarks, with live music, talks and street food',
+       c.ids[1 + g % array_length(c.ids, 1)],
+       ('00000000-0000-4000-8000-' || lpad(to_hex(g % 5000), 12, '0'))::uuid,
+       'Venue ' || (g % 2000),
+       g || ' Benchmark Road, Lagos',
+       ST_SetSRID(ST_MakePoint(3.0 + random() * 1.0, 6.3 + random() * 0.5), 4326)::geography,
+       t.start_time,
+       t.start_time + interval '3 hours',
+       CASE WHEN g % 3 = 0 THEN 0 ELSE round((random() * 50000)::numeric, 2) END,
+       CASE WHEN g % 4 = 0 THEN NULL ELSE 50 + g % 500 END,
+       0,
+       g % 5 = 0,
+       (ARRAY['APPROVED', 'APPROVED', 'APPROVED', 'PENDING', 'APPROVED', 'APPROVED', 'CANCELLED', 'COMPLETED'])[1 + g % 8]
+FROM generate_series(1, :events) g
+CROSS JOIN (SELECT array_agg(id) AS ids FROM categories) c
+CROSS JOIN LATERAL (
+    SELECT now()::timestamp + ((random() * 300 - 60) + g * 0) * interval '1 day' AS start_time
+) t;
+
+-- Interactions skewed towards a popular subset of events, duplicates dropped by the unique constraint
+CREATE TEMP TABLE bench_events AS SELECT row_number() OVER () AS n, id FROM events;
+CREATE INDEX ON bench_events (n);
+SELECT count(*) AS event_count FROM bench_events \gset
+
+INSERT INTO interactions (user_id, event_id, type, created_at)
+SELECT r.user_id, b.id, r.type, r.created_at
+FROM (
+    SELECT ('10000000-0000-4000-8000-' || lpad(to_hex((random() * :users)::int), 12, '0'))::uuid AS user_id,
+           1 + floor(power(random(), 2) * :event_count)::bigint AS n,
+           (ARRAY['VIEW', 'VIEW', 'VIEW', 'VIEW', 'SAVE', 'SAVE', 'SHARE', 'RSVP', 'RSVP', 'BUY'])[1 + (random() * 9)::int] AS type,
+           now()::timestamp - random() * interval '180 days' AS created_at
+    FROM generate_series(1, :interactions) g
+) r
+JOIN bench_events b ON b.n = r.n
+ON CONFLICT ON CONSTRAINT unique_user_event_type DO NOTHING;
+
+-- Keep the denormalized counters consistent with the interactions (same backfill as V2)
+UPDATE events e
+SET view_count  = c.view_count,
+    save_count  = c.save_count,
+    share_count = c.share_count,
+    rsvp_count  = c.rsvp_count,
+    buy_count   = c.buy_count
+FROM (
+    SELECT event_id,
+           COUNT(*) FILTER (WHERE type = 'VIEW')  AS view_count,
+           COUNT(*) FILTER (WHERE type = 'SAVE')  AS save_count,
+           COUNT(*) FILTER (WHERE type = 'SHARE') AS share_count,
+           COUNT(*) FILTER (WHERE type = 'RSVP')  AS rsvp_count,
+           COUNT(*) FILTER (WHERE type = 'BUY')   AS buy_count
+    FROM interactions
+    GROUP BY event_id
+) c
+WHERE e.id = c.event_id;
+
+COMMIT;
+
+VACUUM ANALYZE events;
+VACUUM ANALYZE interactions;
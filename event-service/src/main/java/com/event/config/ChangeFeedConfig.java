@@ -0,0 +1,13 @@
+package com.event.config;
+
+import com.event.changes.ChangeEventPublisher;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Publishes this service's changes to the change feed (changes.stream.*)
+ */
+@Configuration
+@Import(ChangeEventPublisher.class)
+public class ChangeFeedConfig {
+}
@@ -81,15 +81,25 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/upcoming/cursor")
+    public ResponseEntity<CursorPage<EventResponse>> getUpcomingEventsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<EventResponse> events = eventService.getUpcomingEvents(cursor, size);
+        return ResponseEntity.ok(events);
+    }
+
     @GetMapping("/nearby")
     public ResponseEntity<List<EventResponse>> getEventsNearby(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
             @RequestParam(defaultValue = "10.0") Double radiusKm,
+            @RequestParam(defaultValue = "50") int limit,
             Authentication authentication) {
 
         UUID userId = authentication != null ? getUserId(authentication) : null;
-        List<EventResponse> events = eventService.findEventsNearby(latitude, longitude, radiusKm, userId);
+        List<EventResponse> events = eventService.findEventsNearby(latitude, longitude, radiusKm, limit, userId);
 
         return ResponseEntity.ok(events);
     }
@@ -117,6 +127,28 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/host/me/cursor")
+    public ResponseEntity<CursorPage<EventResponse>> getMyEventsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+
+        UUID hostId = getUserId(authentication);
+        CursorPage<EventResponse> events = eventService.getEventsByHost(hostId, cursor, size);
+
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/category/{categoryId}/cursor")
+    public ResponseEntity<CursorPage<EventResponse>> getEventsByCategoryByCursor(
+            @PathVariable UUID categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<EventResponse> events = eventService.getEventsByCategory(categoryId, cursor, size);
+        return ResponseEntity.ok(events);
+    }
+
     @GetMapping("/category/{categoryId}")
     public ResponseEntity<Page<EventResponse>> getEventsByCategory(
             @PathVariable UUID categoryId,
@@ -167,6 +199,16 @@ public class EventController {
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/getAll/cursor")
+    public ResponseEntity<CursorPage<EventResponse>> getEventsByCursor(
+            @RequestParam(required = false) EventStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<EventResponse> events = eventService.getEvents(status, cursor, size);
+        return ResponseEntity.ok(events);
+    }
+
     @GetMapping("/getEvent/{id}")
     public ResponseEntity<EventResponse> getEventById(@PathVariable UUID id){
         EventResponse event = eventService.getEventById(id);
@@ -0,0 +1,66 @@
+package com.event.controller;
+
+import com.event.dto.InteractionResponse;
+import com.event.service.InteractionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/interactions")
+@RequiredArgsConstructor
+@Slf4j
+public class InteractionController {
+
+    private final InteractionService interactionService;
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<InteractionResponse>> getUserInteractions(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "500") int limit,
+            Authentication authentication) {
+
+        if (!userId.equals(getUserId(authentication)) && !isAdmin(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        List<InteractionResponse> interactions = interactionService.getUserInteractions(userId, limit);
+        return ResponseEntity.ok(interactions);
+    }
+
+    /**
+     * Interactions created since a point in time, ordered by (userId, id) so each user's rows are contiguous.
+     * Pass the last row's userId and id to fetch the next page. Used by recommendation-service to build its
+     * co-interaction model; callers need the SERVICE role (a client-credentials token), see SecurityConfig.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<List<InteractionResponse>> getInteractionFeed(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) UUID afterUserId,
+            @RequestParam(required = false) UUID afterId,
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        List<InteractionResponse> interactions =
+                interactionService.getInteractionFeed(since, afterUserId, afterId, limit);
+        return ResponseEntity.ok(interactions);
+    }
+
+    private UUID getUserId(Authentication authentication) {
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        return UUID.fromString(jwt.getSubject());
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
@@ -39,6 +39,13 @@ public class EventResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Interaction counters (popularity)
+    private Long viewCount;
+    private Long saveCount;
+    private Long shareCount;
+    private Long rsvpCount;
+    private Long buyCount;
+
     // Optional fields for nearby search
     private Double distanceKm;
     private Boolean isSaved;
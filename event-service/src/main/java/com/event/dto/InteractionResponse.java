@@ -0,0 +1,23 @@
+package com.event.dto;
+
+import com.event.entity.InteractionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InteractionResponse {
+    private UUID id;
+    private UUID userId;
+    private UUID eventId;
+    private InteractionType type;
+    private String category;
+    private LocalDateTime createdAt;
+}
@@ -43,7 +43,7 @@ public class SearchEventsRequest {
     // Availability filter
     private Boolean availableTicketsOnly;
 
-    // Text search
+    // Text search (full-text over title, venue and description; the last word matches as a prefix)
     private String keyword;
 
     // Pagination
@@ -51,6 +51,6 @@ public class SearchEventsRequest {
     private Integer size = 20;
 
     // Sorting
-    private String sortBy = "startTime"; // startTime, createdAt, ticketPrice, distance
+    private String sortBy = "startTime"; // startTime, createdAt, ticketPrice, distance, relevance (needs keyword)
     private String sortDirection = "ASC"; // ASC, DESC
 }
\ No newline at end of file
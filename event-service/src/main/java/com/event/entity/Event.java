@@ -69,6 +69,29 @@ public class Event {
     @Column(nullable = false, length = 20)
     private EventStatus status = EventStatus.PENDING;
 
+    // Interaction counters, maintained by atomic UPDATEs in EventRepository.incrementInteractionCount
+    // (never written through the entity so concurrent increments are not overwritten). They start at 0
+    // so a newly created event reports zero counts rather than null before it is next read.
+    @Builder.Default
+    @Column(name = "view_count", nullable = false, insertable = false, updatable = false)
+    private Long viewCount = 0L;
+
+    @Builder.Default
+    @Column(name = "save_count", nullable = false, insertable = false, updatable = false)
+    private Long saveCount = 0L;
+
+    @Builder.Default
+    @Column(name = "share_count", nullable = false, insertable = false, updatable = false)
+    private Long shareCount = 0L;
+
+    @Builder.Default
+    @Column(name = "rsvp_count", nullable = false, insertable = false, updatable = false)
+    private Long rsvpCount = 0L;
+
+    @Builder.Default
+    @Column(name = "buy_count", nullable = false, insertable = false, updatable = false)
+    private Long buyCount = 0L;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -5,6 +5,7 @@ import com.event.entity.EventStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,7 +15,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, UUID> {
+public interface EventRepository extends JpaRepository<Event, UUID>, EventSearchRepository {
 
     Page<Event> findByHostId(UUID hostId, Pageable pageable);
 
@@ -24,86 +25,99 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
 
     Page<Event> findByStatusAndVerified(EventStatus status, Boolean verified, Pageable pageable);
 
-    @Query("SELECT e FROM Event e WHERE e.startTime > :now AND e.status = :status ORDER BY e.startTime ASC")
-    Page<Event> findUpcomingEvents(@Param("now") LocalDateTime now, @Param("status") EventStatus status, Pageable pageable);
+    // Status is a literal (not a parameter) so the planner can match the partial idx_events_approved_start_time
+    @Query("SELECT e FROM Event e WHERE e.startTime > :now AND e.status = com.event.entity.EventStatus.APPROVED ORDER BY e.startTime ASC")
+    Page<Event> findUpcomingEvents(@Param("now") LocalDateTime now, Pageable pageable);
 
-    // ✅ FIXED: This query was mostly fine, but I ensured type safety
+    // Keyset pages ordered by (startTime, id): rows strictly after the (afterTime, afterId) position.
+    // Callers fetch one row more than the page size to learn whether another page follows.
+    @Query("SELECT e FROM Event e WHERE e.status = com.event.entity.EventStatus.APPROVED AND e.startTime > :now " +
+            "AND (e.startTime > :afterTime OR (e.startTime = :afterTime AND e.id > :afterId)) " +
+            "ORDER BY e.startTime ASC, e.id ASC")
+    List<Event> findUpcomingEventsAfter(
+            @Param("now") LocalDateTime now,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    @Query("SELECT e FROM Event e WHERE e.category.id = :categoryId " +
+            "AND (e.startTime > :afterTime OR (e.startTime = :afterTime AND e.id > :afterId)) " +
+            "ORDER BY e.startTime ASC, e.id ASC")
+    List<Event> findByCategoryIdAfter(
+            @Param("categoryId") UUID categoryId,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    @Query("SELECT e FROM Event e WHERE e.status = :status " +
+            "AND (e.startTime > :afterTime OR (e.startTime = :afterTime AND e.id > :afterId)) " +
+            "ORDER BY e.startTime ASC, e.id ASC")
+    List<Event> findByStatusAfter(
+            @Param("status") EventStatus status,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    @Query("SELECT e FROM Event e " +
+            "WHERE e.startTime > :afterTime OR (e.startTime = :afterTime AND e.id > :afterId) " +
+            "ORDER BY e.startTime ASC, e.id ASC")
+    List<Event> findAllAfter(
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    // Host listing is newest first, so its keyset runs backwards on (createdAt, id)
+    @Query("SELECT e FROM Event e WHERE e.hostId = :hostId " +
+            "AND (e.createdAt < :beforeTime OR (e.createdAt = :beforeTime AND e.id < :beforeId)) " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    List<Event> findByHostIdBefore(
+            @Param("hostId") UUID hostId,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("beforeId") UUID beforeId,
+            Pageable pageable
+    );
+
+    // Nearest upcoming approved events within a radius. The geography column is used as-is (no casts),
+    // so ST_DWithin and the KNN <-> ordering both run on the idx_events_location GiST index; ST_DWithin
+    // re-checks the exact distance and ST_Distance is only computed for the rows that survive the LIMIT.
     @Query(value = """
-    SELECT CAST(e.id AS text) as event_id, 
-           ST_Distance(e.location::geography, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography) / 1000.0 AS distance_km
-    FROM events e
-    WHERE ST_DWithin(
-        e.location::geography,
-        ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography,
-        :radiusMeters
-    )
-    AND e.status = 'APPROVED' 
-    AND e.start_time > :now
-    ORDER BY distance_km ASC
+    SELECT CAST(e.id AS text) AS event_id,
+           ST_Distance(e.location, p.point) / 1000.0 AS distance_km
+    FROM events e,
+         (SELECT ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography AS point) p
+    WHERE ST_DWithin(e.location, p.point, :radiusMeters)
+      AND e.status = 'APPROVED'
+      AND e.start_time > :now
+    ORDER BY e.location <-> p.point
+    LIMIT :limit
     """, nativeQuery = true)
     List<Object[]> findEventsNearby(
             @Param("latitude") Double latitude,
             @Param("longitude") Double longitude,
             @Param("radiusMeters") Double radiusMeters,
-            @Param("now") LocalDateTime now
+            @Param("now") LocalDateTime now,
+            @Param("limit") int limit
     );
 
-    // ✅ CRITICAL FIX: Fixed the ORDER BY clause to use the calculation instead of the alias
+    // Atomically adjust the denormalized counter for one interaction type (delta is +1 or -1)
+    @Modifying
     @Query(value = """
-        SELECT e.id, 
-        CASE 
-            WHEN :latitude IS NOT NULL AND :longitude IS NOT NULL 
-            THEN ST_Distance(e.location::geography, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography) / 1000.0 
-            ELSE NULL 
-        END AS distance_km
-        FROM events e
-        WHERE 
-            (:categoryId IS NULL OR CAST(e.category_id AS text) = :categoryId) 
-            AND (:status IS NULL OR e.status = :status)
-            AND (:verifiedOnly IS NULL OR :verifiedOnly = false OR e.verified = true)
-            AND (:freeOnly IS NULL OR :freeOnly = false OR e.ticket_price = 0)
-            AND (:availableTicketsOnly IS NULL OR :availableTicketsOnly = false OR e.ticket_limit IS NULL OR e.tickets_sold < e.ticket_limit)
-            AND (CAST(:startDate AS timestamp) IS NULL OR e.start_time >= CAST(:startDate AS timestamp))
-            AND (CAST(:endDate AS timestamp) IS NULL OR e.end_time <= CAST(:endDate AS timestamp))
-            AND (:minPrice IS NULL OR e.ticket_price >= :minPrice)
-            AND (:maxPrice IS NULL OR e.ticket_price <= :maxPrice)
-            AND (:keyword IS NULL OR LOWER(e.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(e.description) LIKE LOWER(CONCAT('%', :keyword, '%')))
-            AND (
-                :latitude IS NULL OR :longitude IS NULL OR :radiusMeters IS NULL
-                OR ST_DWithin(
-                    e.location::geography,
-                    ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography,
-                    :radiusMeters
-                )
-            )
-        ORDER BY 
-            CASE 
-                WHEN :sortBy = 'distance' AND :latitude IS NOT NULL AND :longitude IS NOT NULL 
-                THEN ST_Distance(e.location::geography, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography)
-            END ASC,
-            CASE WHEN :sortBy = 'startTime' AND :sortDirection = 'ASC' THEN e.start_time END ASC,
-            CASE WHEN :sortBy = 'startTime' AND :sortDirection = 'DESC' THEN e.start_time END DESC,
-            CASE WHEN :sortBy = 'createdAt' AND :sortDirection = 'ASC' THEN e.created_at END ASC,
-            CASE WHEN :sortBy = 'createdAt' AND :sortDirection = 'DESC' THEN e.created_at END DESC,
-            CASE WHEN :sortBy = 'ticketPrice' AND :sortDirection = 'ASC' THEN e.ticket_price END ASC,
-            CASE WHEN :sortBy = 'ticketPrice' AND :sortDirection = 'DESC' THEN e.ticket_price END DESC
+        UPDATE events SET
+            view_count  = GREATEST(view_count  + CASE WHEN :type = 'VIEW'  THEN :delta ELSE 0 END, 0),
+            save_count  = GREATEST(save_count  + CASE WHEN :type = 'SAVE'  THEN :delta ELSE 0 END, 0),
+            share_count = GREATEST(share_count + CASE WHEN :type = 'SHARE' THEN :delta ELSE 0 END, 0),
+            rsvp_count  = GREATEST(rsvp_count  + CASE WHEN :type = 'RSVP'  THEN :delta ELSE 0 END, 0),
+            buy_count   = GREATEST(buy_count   + CASE WHEN :type = 'BUY'   THEN :delta ELSE 0 END, 0)
+        WHERE id = :eventId
         """, nativeQuery = true)
-    List<Object[]> searchEvents(
-            @Param("categoryId") String categoryId,
-            @Param("status") String status,
-            @Param("verifiedOnly") Boolean verifiedOnly,
-            @Param("freeOnly") Boolean freeOnly,
-            @Param("availableTicketsOnly") Boolean availableTicketsOnly,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            @Param("minPrice") Double minPrice,
-            @Param("maxPrice") Double maxPrice,
-            @Param("keyword") String keyword,
-            @Param("latitude") Double latitude,
-            @Param("longitude") Double longitude,
-            @Param("radiusMeters") Double radiusMeters,
-            @Param("sortBy") String sortBy,
-            @Param("sortDirection") String sortDirection
+    int incrementInteractionCount(
+            @Param("eventId") UUID eventId,
+            @Param("type") String type,
+            @Param("delta") long delta
     );
 
     long countByHostId(UUID hostId);
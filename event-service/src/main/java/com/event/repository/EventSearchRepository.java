@@ -0,0 +1,17 @@
+package com.event.repository;
+
+import com.event.dto.SearchEventsRequest;
+
+import java.util.List;
+
+/**
+ * Event search with SQL built per request (custom fragment of EventRepository)
+ */
+public interface EventSearchRepository {
+
+    /**
+     * Ids and distances of matching events, in the requested order and page.
+     * row[0] = id as text, row[1] = distance in km (null without a location)
+     */
+    List<Object[]> searchEvents(SearchEventsRequest request, String tsQuery);
+}
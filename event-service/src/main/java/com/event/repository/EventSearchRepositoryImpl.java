@@ -0,0 +1,127 @@
+package com.event.repository;
+
+import com.event.dto.SearchEventsRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the search SQL from only the filters and ordering actually requested.
+ *
+ * The catch-all query with "(:param IS NULL OR ...)" predicates and CASE-based ORDER BY got one generic
+ * plan that could not use idx_events_start_time for sorting. Here each request gets plain predicates and
+ * a plain ORDER BY column (with id as a tie-breaker), so PostgreSQL plans every filter combination on its own.
+ * Every value is bound as a parameter; only whitelisted fragments are concatenated.
+ */
+@Slf4j
+public class EventSearchRepositoryImpl implements EventSearchRepository {
+    private static final String POINT = "ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography";
+    private static final String TS_QUERY = "to_tsquery('english', :tsQuery)";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // sortBy -> column, anything else falls back to start time
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "startTime", "e.start_time",
+            "createdAt", "e.created_at",
+            "ticketPrice", "e.ticket_price"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> searchEvents(SearchEventsRequest request, String tsQuery) {
+        boolean hasLocation = request.getLatitude() != null && request.getLongitude() != null;
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (request.getCategoryId() != null) {
+            where.add("e.category_id = :categoryId");
+            params.put("categoryId", request.getCategoryId());
+        }
+        if (request.getStatus() != null) {
+            where.add("e.status = :status");
+            params.put("status", request.getStatus().toUpperCase());
+        }
+        if (Boolean.TRUE.equals(request.getVerifiedOnly())) {
+            where.add("e.verified = true");
+        }
+        if (Boolean.TRUE.equals(request.getFreeOnly())) {
+            where.add("e.ticket_price = 0");
+        }
+        if (Boolean.TRUE.equals(request.getAvailableTicketsOnly())) {
+            where.add("(e.ticket_limit IS NULL OR e.tickets_sold < e.ticket_limit)");
+        }
+        if (request.getStartDate() != null) {
+            where.add("e.start_time >= :startDate");
+            params.put("startDate", request.getStartDate());
+        }
+        if (request.getEndDate() != null) {
+            where.add("e.end_time <= :endDate");
+            params.put("endDate", request.getEndDate());
+        }
+        if (request.getMinPrice() != null) {
+            where.add("e.ticket_price >= :minPrice");
+            params.put("minPrice", request.getMinPrice());
+        }
+        if (request.getMaxPrice() != null) {
+            where.add("e.ticket_price <= :maxPrice");
+            params.put("maxPrice", request.getMaxPrice());
+        }
+        if (tsQuery != null) {
+            where.add("e.search_vector @@ " + TS_QUERY);
+            params.put("tsQuery", tsQuery);
+        }
+        if (hasLocation) {
+            params.put("latitude", request.getLatitude());
+            params.put("longitude", request.getLongitude());
+            if (request.getRadiusKm() != null) {
+                where.add("ST_DWithin(e.location, " + POINT + ", :radiusMeters)");
+                params.put("radiusMeters", request.getRadiusKm() * 1000);
+            }
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT CAST(e.id AS text) AS event_id, ")
+                .append(hasLocation ? "ST_Distance(e.location, " + POINT + ") / 1000.0" : "CAST(NULL AS double precision)")
+                .append(" AS distance_km FROM events e");
+        if (!where.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", where));
+        }
+        sql.append(" ORDER BY ").append(orderBy(request, hasLocation, tsQuery != null));
+        sql.append(" LIMIT :limit OFFSET :offset");
+
+        int size = request.getSize() != null ? Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE)) : 20;
+        int page = request.getPage() != null ? Math.max(0, request.getPage()) : 0;
+        params.put("limit", size);
+        params.put("offset", page * size);
+
+        log.debug("Event search SQL: {}", sql);
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows;
+    }
+
+    private static String orderBy(SearchEventsRequest request, boolean hasLocation, boolean hasTextQuery) {
+        String sortBy = request.getSortBy();
+        String direction = "DESC".equalsIgnoreCase(request.getSortDirection()) ? "DESC" : "ASC";
+
+        if ("distance".equals(sortBy) && hasLocation) {
+            // KNN ordering on the GiST index; distance_km is only computed for the rows returned
+            return "e.location <-> " + POINT + ", e.id ASC";
+        }
+        if ("relevance".equals(sortBy) && hasTextQuery) {
+            return "ts_rank_cd(e.search_vector, " + TS_QUERY + ") DESC, e.id ASC";
+        }
+        String column = SORT_COLUMNS.getOrDefault(sortBy, "e.start_time");
+        return column + " " + direction + ", e.id " + direction;
+    }
+}
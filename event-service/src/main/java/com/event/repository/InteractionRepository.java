@@ -1,12 +1,16 @@
 package com.event.repository;
 
+import com.event.dto.InteractionResponse;
 import com.event.entity.Interaction;
 import com.event.entity.InteractionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,6 +36,14 @@ public interface InteractionRepository extends JpaRepository<Interaction, UUID>
     // Check if user has specific interaction type with event
     boolean existsByUserIdAndEventIdAndType(UUID userId, UUID eventId, InteractionType type);
 
+    // (eventId, type) pairs of the given types for one user across a set of events
+    @Query("SELECT i.event.id, i.type FROM Interaction i WHERE i.userId = :userId AND i.event.id IN :eventIds AND i.type IN :types")
+    List<Object[]> findInteractionTypes(
+            @Param("userId") UUID userId,
+            @Param("eventIds") Collection<UUID> eventIds,
+            @Param("types") Collection<InteractionType> types
+    );
+
     // Count interactions by event
     long countByEventId(UUID eventId);
 
@@ -46,6 +58,27 @@ public interface InteractionRepository extends JpaRepository<Interaction, UUID>
     @Query("SELECT i FROM Interaction i WHERE i.userId = :userId ORDER BY i.createdAt DESC")
     List<Interaction> findUserInteractionHistory(@Param("userId") UUID userId);
 
-    // Delete specific interaction
-    void deleteByUserIdAndEventIdAndType(UUID userId, UUID eventId, InteractionType type);
+    // Most recent interactions of a user, with the event's category (for recommendation scoring)
+    @Query("SELECT new com.event.dto.InteractionResponse(i.id, i.userId, e.id, i.type, c.name, i.createdAt) " +
+            "FROM Interaction i JOIN i.event e LEFT JOIN e.category c " +
+            "WHERE i.userId = :userId ORDER BY i.createdAt DESC")
+    List<InteractionResponse> findRecentByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    // Keyset page of interactions created since a point in time, ordered by (userId, id) on
+    // idx_interactions_user_id. The redundant userId >= bound gives the index scan its start key,
+    // so each page reads from the previous position instead of from the first user.
+    @Query("SELECT new com.event.dto.InteractionResponse(i.id, i.userId, e.id, i.type, c.name, i.createdAt) " +
+            "FROM Interaction i JOIN i.event e LEFT JOIN e.category c " +
+            "WHERE i.createdAt >= :since AND i.userId >= :afterUserId " +
+            "AND (i.userId > :afterUserId OR (i.userId = :afterUserId AND i.id > :afterId)) " +
+            "ORDER BY i.userId, i.id")
+    List<InteractionResponse> findFeedPage(
+            @Param("since") LocalDateTime since,
+            @Param("afterUserId") UUID afterUserId,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    // Delete specific interaction, returns the number of rows removed
+    long deleteByUserIdAndEventIdAndType(UUID userId, UUID eventId, InteractionType type);
 }
\ No newline at end of file
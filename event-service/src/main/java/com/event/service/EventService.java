@@ -1,10 +1,11 @@
 package com.event.service;
 
+import com.event.changes.ChangeEvent;
+import com.event.changes.ChangeEventPublisher;
 import com.event.dto.*;
 import com.event.entity.Category;
 import com.event.entity.Event;
 import com.event.entity.EventStatus;
-import com.event.entity.InteractionType;
 import com.event.repository.CategoryRepository;
 import com.event.repository.EventRepository;
 import com.event.repository.InteractionRepository;
@@ -35,9 +36,17 @@ public class EventService {
     private final EventRepository eventRepository;
     private final CategoryRepository categoryRepository;
     private final InteractionRepository interactionRepository;
+    private final InteractionStateCache interactionStateCache;
+    private final ChangeEventPublisher changeEventPublisher;
     private final EntityManager entityManager;
     private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
 
+    // Keyset sentinels for the first page: before / after every real (timestamp, id) position
+    private static final EventCursor ASCENDING_START = new EventCursor(LocalDateTime.of(1900, 1, 1, 0, 0), new UUID(0L, 0L));
+    private static final EventCursor DESCENDING_START = new EventCursor(LocalDateTime.of(9999, 12, 31, 0, 0), new UUID(-1L, -1L));
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+    private static final int MAX_NEARBY_LIMIT = 200;
+
     @Transactional
     public EventResponse createEvent(UUID hostId, CreateEventRequest request) {
         // Validate category exists1
@@ -119,6 +128,10 @@ public class EventService {
         }
 
         event = eventRepository.save(event);
+        changeEventPublisher.publish(ChangeEvent.builder()
+                .type(ChangeEvent.EVENT_UPDATED)
+                .eventId(eventId)
+                .build());
         log.info("Event updated successfully: {}", eventId);
 
         return mapToResponse(event, null, null);
@@ -135,10 +148,9 @@ public class EventService {
         Boolean hasRsvp = null;
 
         if (userId != null) {
-            isSaved = interactionRepository.existsByUserIdAndEventIdAndType(
-                    userId, eventId, InteractionType.SAVE);
-            hasRsvp = interactionRepository.existsByUserIdAndEventIdAndType(
-                    userId, eventId, InteractionType.RSVP);
+            byte state = interactionStateCache.getStates(userId, List.of(eventId)).get(eventId);
+            isSaved = (state & InteractionStateCache.SAVED) != 0;
+            hasRsvp = (state & InteractionStateCache.RSVP) != 0;
         }
 
         return mapToResponse(event, isSaved, hasRsvp);
@@ -150,7 +162,7 @@ public class EventService {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("startTime").ascending());
         Page<Event> events = eventRepository.findUpcomingEvents(
-                LocalDateTime.now(), EventStatus.APPROVED, pageable);
+                LocalDateTime.now(), pageable);
 
         return events.map(event -> mapToResponse(event, null, null));
     }
@@ -176,15 +188,83 @@ public class EventService {
     }
 
     @Transactional(readOnly = true)
-    public List<EventResponse> findEventsNearby(Double latitude, Double longitude, Double radiusKm, UUID userId) {
-        log.info("Finding events nearby: lat={}, lng={}, radius={}km", latitude, longitude, radiusKm);
+    public CursorPage<EventResponse> getUpcomingEvents(String cursor, int size) {
+        EventCursor after = Optional.ofNullable(EventCursor.decode(cursor)).orElse(ASCENDING_START);
+        List<Event> events = eventRepository.findUpcomingEventsAfter(
+                LocalDateTime.now(), after.getTime(), after.getId(), keysetPage(size));
+
+        return toCursorPage(events, size, Event::getStartTime);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> getEventsByCategory(UUID categoryId, String cursor, int size) {
+        EventCursor after = Optional.ofNullable(EventCursor.decode(cursor)).orElse(ASCENDING_START);
+        List<Event> events = eventRepository.findByCategoryIdAfter(
+                categoryId, after.getTime(), after.getId(), keysetPage(size));
+
+        return toCursorPage(events, size, Event::getStartTime);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> getEventsByHost(UUID hostId, String cursor, int size) {
+        EventCursor before = Optional.ofNullable(EventCursor.decode(cursor)).orElse(DESCENDING_START);
+        List<Event> events = eventRepository.findByHostIdBefore(
+                hostId, before.getTime(), before.getId(), keysetPage(size));
+
+        return toCursorPage(events, size, Event::getCreatedAt);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> getEvents(EventStatus status, String cursor, int size) {
+        EventCursor after = Optional.ofNullable(EventCursor.decode(cursor)).orElse(ASCENDING_START);
+        List<Event> events = status == null
+                ? eventRepository.findAllAfter(after.getTime(), after.getId(), keysetPage(size))
+                : eventRepository.findByStatusAfter(status, after.getTime(), after.getId(), keysetPage(size));
+
+        return toCursorPage(events, size, Event::getStartTime);
+    }
+
+    /**
+     * One extra row tells whether another page follows, without a COUNT query
+     */
+    private static Pageable keysetPage(int size) {
+        return PageRequest.of(0, clampPageSize(size) + 1);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    private CursorPage<EventResponse> toCursorPage(
+            List<Event> events, int size, Function<Event, LocalDateTime> sortKey) {
+        int pageSize = clampPageSize(size);
+        boolean hasMore = events.size() > pageSize;
+        List<Event> page = hasMore ? events.subList(0, pageSize) : events;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Event last = page.get(page.size() - 1);
+            nextCursor = new EventCursor(sortKey.apply(last), last.getId()).encode();
+        }
+
+        List<EventResponse> content = page.stream()
+                .map(event -> mapToResponse(event, null, null))
+                .collect(Collectors.toList());
+        return CursorPage.of(content, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventResponse> findEventsNearby(
+            Double latitude, Double longitude, Double radiusKm, int limit, UUID userId) {
+        log.info("Finding events nearby: lat={}, lng={}, radius={}km, limit={}", latitude, longitude, radiusKm, limit);
 
         Double radiusMeters = radiusKm * 1000;
 
-        // 1. Native Query: Get only ID and Distance
+        // 1. Native Query: Get only ID and Distance, nearest first, limited in SQL
         // row[0] = String ID, row[1] = Double Distance
         List<Object[]> results = eventRepository.findEventsNearby(
-                latitude, longitude, radiusMeters, LocalDateTime.now());
+                latitude, longitude, radiusMeters, LocalDateTime.now(),
+                Math.max(1, Math.min(limit, MAX_NEARBY_LIMIT)));
 
         if (results.isEmpty()) return Collections.emptyList();
 
@@ -196,27 +276,8 @@ public class EventService {
     public List<EventResponse> searchEvents(SearchEventsRequest request, UUID userId) {
         log.info("Searching events with filters: {}", request);
 
-        Double radiusMeters = request.getRadiusKm() != null ? request.getRadiusKm() * 1000 : null;
-
-        // 1. Native Query
-        // IMPORTANT: Ensure EventRepository.searchEvents returns SELECT CAST(e.id as text), distance...
-        List<Object[]> results = eventRepository.searchEvents(
-                request.getCategoryId() != null ? request.getCategoryId().toString() : null,
-                request.getStatus(),
-                request.getVerifiedOnly(),
-                request.getFreeOnly(),
-                request.getAvailableTicketsOnly(),
-                request.getStartDate(),
-                request.getEndDate(),
-                request.getMinPrice() != null ? request.getMinPrice().doubleValue() : null,
-                request.getMaxPrice() != null ? request.getMaxPrice().doubleValue() : null,
-                request.getKeyword(),
-                request.getLatitude(),
-                request.getLongitude(),
-                radiusMeters,
-                request.getSortBy(),
-                request.getSortDirection()
-        );
+        // 1. Native query built from only the requested filters
+        List<Object[]> results = eventRepository.searchEvents(request, TextSearch.toPrefixTsQuery(request.getKeyword()));
 
         if (results.isEmpty()) return Collections.emptyList();
 
@@ -238,17 +299,10 @@ public class EventService {
         Map<UUID, Event> eventMap = eventRepository.findAllById(eventIds).stream()
                 .collect(Collectors.toMap(Event::getId, Function.identity()));
 
-        // C. Fetch all User Interactions in ONE query (Optimization)
-        Set<UUID> savedEvents = new HashSet<>();
-        Set<UUID> rsvpEvents = new HashSet<>();
-
-        if (userId != null && !eventIds.isEmpty()) {
-            // Ideally, add a method in InteractionRepository to fetch list of interaction types for these event IDs
-            // For now, we can leave the loop for interactions or implement:
-            // interactionRepository.findByUserIdAndEventIdIn(userId, eventIds)...
-            // But let's stick to the simple check inside mapToResponse logic for now,
-            // OR do the proper interaction batch fetch if you have the repo method.
-        }
+        // C. Fetch SAVE/RSVP state for the whole page in at most ONE query (cached per user)
+        Map<UUID, Byte> interactionStates = userId != null && !eventIds.isEmpty()
+                ? interactionStateCache.getStates(userId, eventIds)
+                : Collections.emptyMap();
 
         // D. Reconstruct the list preserving the original order (Sorting)
         return results.stream()
@@ -260,12 +314,13 @@ public class EventService {
 
                     Double distanceKm = row[1] != null ? ((Number) row[1]).doubleValue() : null;
 
-                    // Interaction Checks (Still one-by-one here unless we add a batch interaction query)
-                    // This is acceptable for page sizes of 20-50.
-                    Boolean isSaved = userId != null ?
-                            interactionRepository.existsByUserIdAndEventIdAndType(userId, eventId, InteractionType.SAVE) : null;
-                    Boolean hasRsvp = userId != null ?
-                            interactionRepository.existsByUserIdAndEventIdAndType(userId, eventId, InteractionType.RSVP) : null;
+                    Boolean isSaved = null;
+                    Boolean hasRsvp = null;
+                    if (userId != null) {
+                        byte state = interactionStates.getOrDefault(eventId, (byte) 0);
+                        isSaved = (state & InteractionStateCache.SAVED) != 0;
+                        hasRsvp = (state & InteractionStateCache.RSVP) != 0;
+                    }
 
                     EventResponse response = mapToResponse(event, isSaved, hasRsvp);
                     response.setDistanceKm(distanceKm);
@@ -288,6 +343,10 @@ public class EventService {
         }
 
         eventRepository.delete(event);
+        changeEventPublisher.publish(ChangeEvent.builder()
+                .type(ChangeEvent.EVENT_DELETED)
+                .eventId(eventId)
+                .build());
         log.info("Event deleted successfully: {}", eventId);
     }
 
@@ -300,6 +359,11 @@ public class EventService {
 
         event.setStatus(status);
         event = eventRepository.save(event);
+        changeEventPublisher.publish(ChangeEvent.builder()
+                .type(ChangeEvent.EVENT_STATUS_CHANGED)
+                .eventId(eventId)
+                .detail(status.name())
+                .build());
 
         log.info("Event status updated successfully: {}", eventId);
         return mapToResponse(event, null, null);
@@ -356,6 +420,11 @@ public class EventService {
                 .hasRsvp(hasRsvp)
                 .createdAt(event.getCreatedAt())
                 .updatedAt(event.getUpdatedAt())
+                .viewCount(event.getViewCount())
+                .saveCount(event.getSaveCount())
+                .shareCount(event.getShareCount())
+                .rsvpCount(event.getRsvpCount())
+                .buyCount(event.getBuyCount())
                 .build();
     }
 
@@ -1,6 +1,9 @@
 package com.event.service;
 
+import com.event.changes.ChangeEvent;
+import com.event.changes.ChangeEventPublisher;
 import com.event.dto.InteractionRequest;
+import com.event.dto.InteractionResponse;
 import com.event.entity.Event;
 import com.event.entity.Interaction;
 import com.event.entity.InteractionType;
@@ -8,9 +11,12 @@ import com.event.repository.EventRepository;
 import com.event.repository.InteractionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -20,6 +26,12 @@ public class InteractionService {
 
     private final InteractionRepository interactionRepository;
     private final EventRepository eventRepository;
+    private final InteractionStateCache interactionStateCache;
+    private final ChangeEventPublisher changeEventPublisher;
+
+    private static final int MAX_PAGE_SIZE = 5000;
+    // Sorts before every other UUID in PostgreSQL's byte-wise ordering, so it starts the feed
+    private static final UUID FEED_START = new UUID(0L, 0L);
 
     @Transactional
     public void recordInteraction(UUID userId, UUID eventId, InteractionRequest request) {
@@ -46,6 +58,9 @@ public class InteractionService {
                 .build();
 
         interactionRepository.save(interaction);
+        eventRepository.incrementInteractionCount(eventId, request.getType().name(), 1);
+        invalidateState(userId, request.getType());
+        publishInteraction(ChangeEvent.INTERACTION_RECORDED, userId, eventId, request.getType(), interaction.getCreatedAt());
         log.info("Interaction recorded successfully");
     }
 
@@ -53,7 +68,12 @@ public class InteractionService {
     public void removeInteraction(UUID userId, UUID eventId, InteractionType type) {
         log.info("Removing interaction: user={}, event={}, type={}", userId, eventId, type);
 
-        interactionRepository.deleteByUserIdAndEventIdAndType(userId, eventId, type);
+        long removed = interactionRepository.deleteByUserIdAndEventIdAndType(userId, eventId, type);
+        if (removed > 0) {
+            eventRepository.incrementInteractionCount(eventId, type.name(), -removed);
+            invalidateState(userId, type);
+            publishInteraction(ChangeEvent.INTERACTION_REMOVED, userId, eventId, type);
+        }
         log.info("Interaction removed successfully");
     }
 
@@ -66,4 +86,45 @@ public class InteractionService {
     public long getInteractionCount(UUID eventId, InteractionType type) {
         return interactionRepository.countByEventIdAndType(eventId, type);
     }
-}
\ No newline at end of file
+
+    @Transactional(readOnly = true)
+    public List<InteractionResponse> getUserInteractions(UUID userId, int limit) {
+        return interactionRepository.findRecentByUserId(userId, PageRequest.of(0, clamp(limit)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<InteractionResponse> getInteractionFeed(
+            LocalDateTime since, UUID afterUserId, UUID afterId, int limit) {
+        return interactionRepository.findFeedPage(
+                since,
+                afterUserId != null ? afterUserId : FEED_START,
+                afterId != null ? afterId : FEED_START,
+                PageRequest.of(0, clamp(limit)));
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private void invalidateState(UUID userId, InteractionType type) {
+        // Only SAVE and RSVP are reflected in event responses
+        if (type == InteractionType.SAVE || type == InteractionType.RSVP) {
+            interactionStateCache.invalidate(userId);
+        }
+    }
+
+    private void publishInteraction(String changeType, UUID userId, UUID eventId, InteractionType type) {
+        publishInteraction(changeType, userId, eventId, type, null);
+    }
+
+    private void publishInteraction(
+            String changeType, UUID userId, UUID eventId, InteractionType type, LocalDateTime occurredAt) {
+        changeEventPublisher.publish(ChangeEvent.builder()
+                .type(changeType)
+                .userId(userId)
+                .eventId(eventId)
+                .detail(type.name())
+                .occurredAt(occurredAt)
+                .build());
+    }
+}
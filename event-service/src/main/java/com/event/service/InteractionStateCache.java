@@ -0,0 +1,91 @@
+package com.event.service;
+
+import com.event.entity.InteractionType;
+import com.event.repository.InteractionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived per-user cache of SAVE/RSVP state per event, stored as a small bitmask.
+ *
+ * Lookups for a page of events only query the events not yet known for that user, in one
+ * set-based query. Entries are dropped when the user records or removes an interaction.
+ */
+@Slf4j
+@Component
+public class InteractionStateCache {
+    public static final byte SAVED = 1;
+    public static final byte RSVP = 1 << 1;
+
+    private static final List<InteractionType> TRACKED_TYPES = List.of(InteractionType.SAVE, InteractionType.RSVP);
+
+    private final InteractionRepository interactionRepository;
+    private final Cache<UUID, Map<UUID, Byte>> states;
+
+    public InteractionStateCache(
+            InteractionRepository interactionRepository,
+            @Value("${events.interaction-state-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${events.interaction-state-cache.max-users:10000}") long maxUsers
+    ) {
+        this.interactionRepository = interactionRepository;
+        this.states = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    /**
+     * SAVE/RSVP bitmask for each of the given events (0 when the user has neither)
+     */
+    public Map<UUID, Byte> getStates(UUID userId, Collection<UUID> eventIds) {
+        Map<UUID, Byte> known = states.get(userId, k -> new ConcurrentHashMap<>());
+
+        List<UUID> missing = new ArrayList<>();
+        for (UUID eventId : eventIds) {
+            if (!known.containsKey(eventId)) missing.add(eventId);
+        }
+
+        if (!missing.isEmpty()) {
+            Map<UUID, Byte> loaded = new HashMap<>();
+            missing.forEach(id -> loaded.put(id, (byte) 0));
+
+            for (Object[] row : interactionRepository.findInteractionTypes(userId, missing, TRACKED_TYPES)) {
+                UUID eventId = (UUID) row[0];
+                byte bit = row[1] == InteractionType.SAVE ? SAVED : RSVP;
+                loaded.merge(eventId, bit, (a, b) -> (byte) (a | b));
+            }
+            known.putAll(loaded);
+        }
+
+        Map<UUID, Byte> result = new HashMap<>();
+        for (UUID eventId : eventIds) {
+            result.put(eventId, known.getOrDefault(eventId, (byte) 0));
+        }
+        return result;
+    }
+
+    /**
+     * Drop a user's cached state once the current transaction commits (immediately if there is none)
+     */
+    public void invalidate(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    states.invalidate(userId);
+                }
+            });
+        } else {
+            states.invalidate(userId);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.event.service;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Turns free-text keywords into a PostgreSQL tsquery for the events search_vector column.
+ */
+public final class TextSearch {
+
+    private TextSearch() {
+    }
+
+    /**
+     * All terms must match; the last one is a prefix match so partially typed words work (type-ahead).
+     * Only letters and digits survive, so user input can never inject tsquery operators.
+     * Returns null when the keyword has no searchable terms.
+     *
+     * e.g. "jazz night, lag" -> "jazz & night & lag:*"
+     */
+    public static String toPrefixTsQuery(String keyword) {
+        if (keyword == null) return null;
+
+        String[] terms = Arrays.stream(keyword.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toArray(String[]::new);
+        if (terms.length == 0) return null;
+
+        terms[terms.length - 1] = terms[terms.length - 1] + ":*";
+        return Arrays.stream(terms).collect(Collectors.joining(" & "));
+    }
+}
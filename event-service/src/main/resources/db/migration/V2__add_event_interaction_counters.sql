@@ -0,0 +1,36 @@
+-- Denormalized per-event interaction counters (popularity / trending signals)
+ALTER TABLE events
+    ADD COLUMN view_count  BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN save_count  BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN share_count BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN rsvp_count  BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN buy_count   BIGINT NOT NULL DEFAULT 0;
+
+-- Backfill from existing interactions
+UPDATE events e
+SET view_count  = c.view_count,
+    save_count  = c.save_count,
+    share_count = c.share_count,
+    rsvp_count  = c.rsvp_count,
+    buy_count   = c.buy_count
+FROM (
+    SELECT event_id,
+           COUNT(*) FILTER (WHERE type = 'VIEW')  AS view_count,
+           COUNT(*) FILTER (WHERE type = 'SAVE')  AS save_count,
+           COUNT(*) FILTER (WHERE type = 'SHARE') AS share_count,
+           COUNT(*) FILTER (WHERE type = 'RSVP')  AS rsvp_count,
+           COUNT(*) FILTER (WHERE type = 'BUY')   AS buy_count
+    FROM interactions
+    GROUP BY event_id
+) c
+WHERE e.id = c.event_id;
+
+-- Counter increments should not bump updated_at: only fire the trigger for content columns
+DROP TRIGGER update_events_updated_at ON events;
+
+CREATE TRIGGER update_events_updated_at
+    BEFORE UPDATE OF title, description, category_id, host_id, venue, address, location,
+        start_time, end_time, image_url, ticket_price, ticket_limit, tickets_sold, verified, status
+    ON events
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
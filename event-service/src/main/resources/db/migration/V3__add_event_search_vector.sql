@@ -0,0 +1,28 @@
+-- Full-text search over title (weight A), venue (B) and description (C), replacing LIKE '%kw%' scans
+ALTER TABLE events ADD COLUMN search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION events_search_vector_update()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('english', coalesce(NEW.title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(NEW.venue, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(NEW.description, '')), 'C');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER update_events_search_vector
+    BEFORE INSERT OR UPDATE OF title, venue, description
+    ON events
+    FOR EACH ROW
+    EXECUTE FUNCTION events_search_vector_update();
+
+-- Backfill existing rows (only search_vector changes, so neither trigger fires)
+UPDATE events
+SET search_vector =
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(venue, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'C');
+
+CREATE INDEX idx_events_search_vector ON events USING GIN (search_vector);
@@ -0,0 +1,21 @@
+-- Indexes matched to the hot access paths. Nearly every read filters status = 'APPROVED' and
+-- start_time > now, so the event indexes are partial on approved rows and far smaller than the table.
+
+-- Upcoming approved events by start time: /upcoming (offset) and /upcoming/cursor (keyset on start_time, id)
+CREATE INDEX idx_events_approved_start_time ON events (start_time, id) WHERE status = 'APPROVED';
+
+-- Nearby approved events: ST_DWithin and KNN (<->) ordering
+CREATE INDEX idx_events_approved_location ON events USING GIST (location) WHERE status = 'APPROVED';
+
+-- Keyset listings by category (start_time, id) and by host (created_at, id, newest first).
+-- They lead with the columns of idx_events_category / idx_events_host, which become redundant.
+CREATE INDEX idx_events_category_start_time ON events (category_id, start_time, id);
+CREATE INDEX idx_events_host_created_at ON events (host_id, created_at DESC, id DESC);
+DROP INDEX idx_events_category;
+DROP INDEX idx_events_host;
+
+-- Interactions: per-user lookups by type (SAVE/RSVP state, saved events) become index-only scans,
+-- and the recent-history endpoint reads one user's rows newest first. Both cover idx_interactions_user.
+CREATE INDEX idx_interactions_user_type_event ON interactions (user_id, type, event_id);
+CREATE INDEX idx_interactions_user_created_at ON interactions (user_id, created_at DESC);
+DROP INDEX idx_interactions_user;
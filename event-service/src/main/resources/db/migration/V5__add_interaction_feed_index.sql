@@ -0,0 +1,3 @@
+-- Interaction feed (recommendation-service's co-interaction rebuild): keyset pages ordered by (user_id, id).
+-- Each page starts an index scan at the previous position, instead of sorting the whole window again.
+CREATE INDEX idx_interactions_user_id ON interactions (user_id, id);
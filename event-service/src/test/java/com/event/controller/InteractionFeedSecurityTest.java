@@ -0,0 +1,82 @@
+package com.event.controller;
+
+import com.event.security.SecurityConfig;
+import com.event.service.InteractionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The interaction feed is only served to tokens carrying the SERVICE realm role, read from
+ * Keycloak's nested realm_access.roles claim.
+ */
+@WebMvcTest(controllers = InteractionController.class, properties = "KEYCLOAK_REALM=test")
+@Import(SecurityConfig.class)
+class InteractionFeedSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private InteractionService interactionService;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setUp() {
+        when(interactionService.getInteractionFeed(any(), any(), any(), anyInt())).thenReturn(List.of());
+        when(jwtDecoder.decode("service-token")).thenReturn(keycloakToken(List.of("SERVICE", "offline_access")));
+        when(jwtDecoder.decode("user-token")).thenReturn(keycloakToken(List.of("USER")));
+    }
+
+    @Test
+    void serviceRoleCanReadFeed() throws Exception {
+        mockMvc.perform(get("/api/interactions/feed")
+                        .param("since", "2026-01-01T00:00:00")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer service-token"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userRoleIsForbidden() throws Exception {
+        mockMvc.perform(get("/api/interactions/feed")
+                        .param("since", "2026-01-01T00:00:00")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer user-token"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void anonymousIsRejected() throws Exception {
+        mockMvc.perform(get("/api/interactions/feed").param("since", "2026-01-01T00:00:00"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static Jwt keycloakToken(List<String> realmRoles) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(UUID.randomUUID().toString())
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .claim("realm_access", Map.of("roles", realmRoles))
+                .build();
+    }
+}
@@ -3,9 +3,11 @@ package com.event;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class RecommendationServiceApplication {
     public static void main(String[] args) {SpringApplication.run(RecommendationServiceApplication.class, args);}
 }
\ No newline at end of file
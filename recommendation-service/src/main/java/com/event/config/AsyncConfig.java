@@ -0,0 +1,92 @@
+package com.event.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Bounded pool for concurrent calls to user-service and event-service while building recommendations.
+     * When saturated new calls are rejected and callers use their fallback (default preferences, cold
+     * start), so the request keeps its deadline instead of running calls inline.
+     */
+    @Bean("fanOutExecutor")
+    public ThreadPoolTaskExecutor fanOutExecutor(
+            @Value("${recommendation.fan-out.pool-size:32}") int poolSize,
+            @Value("${recommendation.fan-out.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("rec-fanout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Small pool for writing recommendation history rows, kept apart from the fan-out pool so history
+     * writes never take threads from user-facing calls. History is best effort: when the queue is full
+     * the write is discarded silently rather than thrown back into the request.
+     */
+    @Bean("historyExecutor")
+    public ThreadPoolTaskExecutor historyExecutor(
+            @Value("${recommendation.history.pool-size:2}") int poolSize,
+            @Value("${recommendation.history.queue-capacity:500}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("rec-history-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Single worker for change-feed work that calls event-service or recomputes similar-events lists, so the
+     * stream poll thread only does cache invalidations. One thread keeps changes to an event in feed order.
+     * When the queue is full the work is dropped; the periodic index refresh and rebuilds catch up.
+     */
+    @Bean("changeFeedExecutor")
+    public ThreadPoolTaskExecutor changeFeedExecutor(
+            @Value("${changes.worker.queue-capacity:1000}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("rec-changes-");
+        // Rejections surface to the listener, which logs and drops the change
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool for background refreshes of stale cache entries.
+     * When saturated the refresh is dropped; the stale entry keeps being served until a later request retries.
+     */
+    @Bean("cacheRefreshExecutor")
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(
+            @Value("${recommendation.cache.refresh.pool-size:4}") int poolSize,
+            @Value("${recommendation.cache.refresh.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("rec-refresh-");
+        // Rejections surface to the caller, which skips the refresh
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,63 @@
+package com.event.config;
+
+import com.event.service.ChangeFeedListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+
+import java.time.Duration;
+
+/**
+ * Subscribes to the change feeds published by event-service and user-service.
+ *
+ * No consumer group is used: every instance reads every change, since each one holds its own
+ * event index. Reading starts at the latest entry; anything missed while down is covered by
+ * the periodic index refresh and cache TTLs.
+ */
+@Slf4j
+@Configuration
+public class ChangeFeedConfig {
+
+    @Value("${changes.streams.events:changes:events}")
+    private String eventsStream;
+
+    @Value("${changes.streams.users:changes:users}")
+    private String usersStream;
+
+    @Value("${changes.poll-timeout-ms:2000}")
+    private long pollTimeoutMs;
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public StreamMessageListenerContainer<String, MapRecord<String, String, String>> changeFeedContainer(
+            RedisConnectionFactory connectionFactory,
+            ChangeFeedListener changeFeedListener
+    ) {
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofMillis(pollTimeoutMs))
+                        .errorHandler(e -> log.warn("Change feed read failed: {}", e.getMessage()))
+                        .build();
+
+        StreamMessageListenerContainer<String, MapRecord<String, String, String>> container =
+                StreamMessageListenerContainer.create(connectionFactory, options);
+
+        for (String stream : new String[]{eventsStream, usersStream}) {
+            // Keep polling through Redis hiccups instead of cancelling the subscription
+            container.register(
+                    StreamReadRequest.builder(StreamOffset.create(stream, ReadOffset.latest()))
+                            .cancelOnError(e -> false)
+                            .build(),
+                    changeFeedListener
+            );
+        }
+        return container;
+    }
+}
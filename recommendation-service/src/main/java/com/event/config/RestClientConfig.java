@@ -1,31 +1,55 @@
 package com.event.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+
+/**
+ * RestClients for inter-service calls (shared HttpClient, bulkhead and retry setup in RestClientConfigSupport)
+ */
 @Configuration
-public class RestClientConfig {
+public class RestClientConfig extends RestClientConfigSupport {
+
     @Bean("userClient")
-    public RestClient userRestClient(RestClient.Builder builder) {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000); // 3 Seconds to connect
-        factory.setReadTimeout(60000);
-        return builder
-                .baseUrl("http://user-service:8083")
-                .requestFactory(factory)
-                .build();
+    public RestClient userRestClient(
+            RestClient.Builder builder,
+            HttpClient serviceHttpClient,
+            MeterRegistry meterRegistry,
+            @Value("${services.user-service.url:http://user-service:8083}") String baseUrl,
+            @Value("${services.user-service.read-timeout-ms:1500}") long readTimeoutMs,
+            @Value("${services.user-service.max-concurrent:50}") int maxConcurrent
+    ) {
+        return build(builder, serviceHttpClient, meterRegistry, "user-service", baseUrl, readTimeoutMs, maxConcurrent);
     }
 
     @Bean("eventClient")
-    public RestClient eventRestClient(RestClient.Builder builder) {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000); // 3 Seconds to connect
-        factory.setReadTimeout(60000);
-        return builder
-                .baseUrl("http://event-service:8084")
-                .requestFactory(factory)
-                .build();
+    public RestClient eventRestClient(
+            RestClient.Builder builder,
+            HttpClient serviceHttpClient,
+            MeterRegistry meterRegistry,
+            @Value("${services.event-service.url:http://event-service:8084}") String baseUrl,
+            @Value("${services.event-service.read-timeout-ms:2000}") long readTimeoutMs,
+            @Value("${services.event-service.max-concurrent:50}") int maxConcurrent
+    ) {
+        return build(builder, serviceHttpClient, meterRegistry, "event-service", baseUrl, readTimeoutMs, maxConcurrent);
+    }
+
+    /**
+     * Separate client for bulk catalog loads (event index refresh), so large pages get a longer
+     * timeout and never consume the bulkhead used by user-facing requests.
+     */
+    @Bean("eventCatalogClient")
+    public RestClient eventCatalogRestClient(
+            RestClient.Builder builder,
+            HttpClient serviceHttpClient,
+            MeterRegistry meterRegistry,
+            @Value("${services.event-service.url:http://event-service:8084}") String baseUrl,
+            @Value("${services.event-service.catalog-read-timeout-ms:10000}") long readTimeoutMs
+    ) {
+        return build(builder, serviceHttpClient, meterRegistry, "event-service-catalog", baseUrl, readTimeoutMs, 2);
     }
 }
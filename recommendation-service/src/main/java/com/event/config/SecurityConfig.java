@@ -23,7 +23,8 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/actuator/**",
                                 "/health",
-                                "/api/recommendations/trending"
+                                "/api/recommendations/trending",
+                                "/api/recommendations/trending/nearby"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
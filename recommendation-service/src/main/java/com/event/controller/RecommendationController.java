@@ -3,6 +3,8 @@ package com.event.controller;
 import com.event.dto.EventRecommendationResponse;
 import com.event.dto.RecommendationRequest;
 import com.event.service.RecommendationService;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
@@ -44,7 +46,7 @@ public class RecommendationController {
      */
     @GetMapping("/events")
     public ResponseEntity<List<EventRecommendationResponse>> getPersonalizedRecommendations(
-            @RequestParam(required = false, defaultValue = "0") @Min(0) Integer page,
+            @RequestParam(required = false, defaultValue = "0") @Min(0) @Max(1000) Integer page,
             @RequestParam(required = false, defaultValue = "20") @Min(1) @Max(100) Integer size,
             @RequestParam(required = false) String categoryFilter,
             @RequestParam(required = false) Double maxDistanceKm,
@@ -98,6 +100,30 @@ public class RecommendationController {
         return ResponseEntity.ok(trending);
     }
 
+    /**
+     * Get trending events around a location (public endpoint)
+     *
+     * GET /api/recommendations/trending/nearby?latitude=6.52&longitude=3.37&limit=20
+     *
+     * @param latitude Latitude of the location
+     * @param longitude Longitude of the location
+     * @param limit Maximum number of events (default: 20, max: 50)
+     * @return List of events trending in the surrounding region
+     */
+    @GetMapping("/trending/nearby")
+    public ResponseEntity<List<EventRecommendationResponse>> getTrendingEventsNearby(
+            @RequestParam @DecimalMin("-90") @DecimalMax("90") Double latitude,
+            @RequestParam @DecimalMin("-180") @DecimalMax("180") Double longitude,
+            @RequestParam(required = false, defaultValue = "20") @Min(1) @Max(50) Integer limit
+    ) {
+        log.info("GET /api/recommendations/trending/nearby - Location: {}, {}, Limit: {}", latitude, longitude, limit);
+
+        List<EventRecommendationResponse> trending =
+                recommendationService.getTrendingEventsNear(latitude, longitude, limit);
+
+        return ResponseEntity.ok(trending);
+    }
+
     /**
      * Get events similar to a specific event
      *
@@ -0,0 +1,21 @@
+package com.event.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Typed view of a keyset-paginated page returned by another service; nextCursor is null on the last page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CursorPageResponse<T> {
+    private List<T> content = new ArrayList<>();
+    private String nextCursor;
+}
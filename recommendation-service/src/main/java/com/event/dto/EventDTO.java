@@ -51,6 +51,7 @@ public class EventDTO {
     private Long saveCount;
     private Long rsvpCount;
     private Long shareCount;
+    private Long buyCount;
 
     /**
      * Check if event has available tickets
@@ -71,6 +72,7 @@ public class EventDTO {
         if (saveCount != null) total += saveCount;
         if (rsvpCount != null) total += rsvpCount;
         if (shareCount != null) total += shareCount;
+        if (buyCount != null) total += buyCount;
         return total;
     }
 
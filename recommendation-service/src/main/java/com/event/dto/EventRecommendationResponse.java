@@ -47,6 +47,28 @@ public class EventRecommendationResponse {
     // Score breakdown (optional, for debugging)
     private ScoreBreakdown scoreBreakdown;
 
+    /**
+     * Builder pre-filled with the event fields; callers add the recommendation-specific fields
+     */
+    public static EventRecommendationResponseBuilder fromEvent(EventDTO event) {
+        return EventRecommendationResponse.builder()
+                .eventId(event.getId())
+                .title(event.getTitle())
+                .description(event.getDescription())
+                .category(event.getCategoryName())
+                .venue(event.getVenue())
+                .address(event.getAddress())
+                .location(event.getLocation())
+                .startTime(event.getStartTime())
+                .endTime(event.getEndTime())
+                .ticketPrice(event.getTicketPrice())
+                .ticketLimit(event.getTicketLimit())
+                .ticketsSold(event.getTicketsSold())
+                .hasAvailableTickets(event.hasAvailableTickets())
+                .imageUrl(event.getImageUrl())
+                .verified(event.getVerified());
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -1,6 +1,7 @@
 package com.event.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,6 +14,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class InteractionDTO {
     private UUID id;
     private UUID userId;
@@ -32,6 +34,14 @@ public class InteractionDTO {
      * Get weight for this interaction type
      */
     public double getInteractionWeight() {
+        return weightOf(type);
+    }
+
+    /**
+     * Weight of an interaction type name, 0 for unknown types
+     */
+    public static double weightOf(String type) {
+        if (type == null) return 0.0;
         return switch (type) {
             case "BUY" -> 1.0;    // Strongest signal
             case "RSVP" -> 0.8;   // Strong signal
@@ -15,6 +15,7 @@ import java.math.BigDecimal;
 @Builder
 public class RecommendationRequest {
     @Min(0)
+    @Max(1000)
     @Builder.Default
     private Integer page = 0;
 
@@ -33,4 +34,17 @@ public class RecommendationRequest {
     // Force refresh (bypass cache)
     @Builder.Default
     private Boolean refresh = false;
+
+    /**
+     * Identifies the result list within a user's cache: page, size and every filter that is set
+     */
+    public String cacheVariant() {
+        StringBuilder key = new StringBuilder("page:").append(page).append(":size:").append(size);
+        if (categoryFilter != null) key.append(":category:").append(categoryFilter.toLowerCase());
+        if (maxDistanceKm != null) key.append(":distance:").append(maxDistanceKm);
+        if (maxPrice != null) key.append(":price:").append(maxPrice.stripTrailingZeros().toPlainString());
+        if (Boolean.TRUE.equals(freeOnly)) key.append(":free");
+        if (Boolean.TRUE.equals(verifiedOnly)) key.append(":verified");
+        return key.toString();
+    }
 }
@@ -1,15 +1,22 @@
 package com.event.service;
 
 import com.event.dto.EventRecommendationResponse;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -18,7 +25,10 @@ import java.util.concurrent.TimeUnit;
 @Service
 public class CacheService {
     private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LocalRecommendationCache localCache;
+    private final MeterRegistry meterRegistry;
+    private final RecommendationCodec codec;
 
     @Value("${recommendation.cache.user-recommendations}")
     private int userRecommendationsTTL;
@@ -29,43 +39,55 @@ public class CacheService {
     @Value("${recommendation.cache.similar-events}")
     private int similarEventsTTL;
 
+    // Entries are served (and refreshed in the background) until hard TTL = soft TTL * factor
+    @Value("${recommendation.cache.hard-ttl-factor:4}")
+    private int hardTtlFactor;
+
     private static final String USER_RECOMMENDATIONS_PREFIX = "recommendations:user:";
     private static final String TRENDING_PREFIX = "recommendations:trending";
     private static final String SIMILAR_PREFIX = "recommendations:similar:";
     private static final String CATEGORY_PREFIX = "recommendations:category:";
-
+    // Set of cached page/category keys per user, so invalidation never needs KEYS
+    private static final String USER_KEYS_PREFIX = "recommendations:keys:user:";
+    private static final int DELETE_BATCH_SIZE = 500;
+    private static final byte ENVELOPE_MAGIC = 0x7E;
+    private static final int ENVELOPE_HEADER_SIZE = 1 + Long.BYTES;
+
+    /**
+     * @param variant Page, size and filters of the request, see RecommendationRequest.cacheVariant()
+     */
     public void cacheUserRecommendations(
             UUID userId,
-            int page,
+            String variant,
             List<EventRecommendationResponse> recommendations
     ) {
-        String key = getUserRecommendationsKey(userId, page);
-        cache(key, recommendations, userRecommendationsTTL, TimeUnit.MINUTES);
+        String key = getUserRecommendationsKey(userId, variant);
+        cacheForUser(userId, key, recommendations, userRecommendationsTTL);
     }
 
-    public List<EventRecommendationResponse> getUserRecommendations(UUID userId, int page) {
-        String key = getUserRecommendationsKey(userId, page);
-        return getRecommendations(key);
+    public CachedRecommendations getUserRecommendations(UUID userId, String variant) {
+        String key = getUserRecommendationsKey(userId, variant);
+        return getRecommendations(key, userRecommendationsTTL);
     }
 
     public void cacheTrendingEvents(List<EventRecommendationResponse> recommendations) {
-        cache(TRENDING_PREFIX, recommendations, trendingEventsTTL, TimeUnit.MINUTES);
+        cache(TRENDING_PREFIX, recommendations, trendingEventsTTL);
     }
 
 
-    public List<EventRecommendationResponse> getTrendingEvents() {
-        return getRecommendations(TRENDING_PREFIX);
+    public CachedRecommendations getTrendingEvents() {
+        return getRecommendations(TRENDING_PREFIX, trendingEventsTTL);
     }
 
     public void cacheSimilarEvents(UUID eventId, List<EventRecommendationResponse> recommendations) {
         String key = SIMILAR_PREFIX + eventId;
-        cache(key, recommendations, similarEventsTTL, TimeUnit.MINUTES);
+        cache(key, recommendations, similarEventsTTL);
     }
 
 
-    public List<EventRecommendationResponse> getSimilarEvents(UUID eventId) {
+    public CachedRecommendations getSimilarEvents(UUID eventId) {
         String key = SIMILAR_PREFIX + eventId;
-        return getRecommendations(key);
+        return getRecommendations(key, similarEventsTTL);
     }
 
     public void cacheCategoryRecommendations(
@@ -74,29 +96,51 @@ public class CacheService {
             List<EventRecommendationResponse> recommendations
     ) {
         String key = CATEGORY_PREFIX + userId + ":" + category;
-        cache(key, recommendations, userRecommendationsTTL, TimeUnit.MINUTES);
+        cacheForUser(userId, key, recommendations, userRecommendationsTTL);
     }
 
 
-    public List<EventRecommendationResponse> getCategoryRecommendations(UUID userId, String category) {
+    public CachedRecommendations getCategoryRecommendations(UUID userId, String category) {
         String key = CATEGORY_PREFIX + userId + ":" + category;
-        return getRecommendations(key);
+        return getRecommendations(key, userRecommendationsTTL);
     }
 
 
+    /**
+     * Drop every cached page and category list of a user, using the user's key index (no KEYS scan)
+     */
     public void invalidateUserCache(UUID userId) {
-        String pattern = USER_RECOMMENDATIONS_PREFIX + userId + ":*";
-        String categoryPattern = CATEGORY_PREFIX + userId + ":*";
-
-        deleteByPattern(pattern);
-        deleteByPattern(categoryPattern);
+        String indexKey = USER_KEYS_PREFIX + userId;
+        try {
+            Set<String> keys = stringRedisTemplate.opsForSet().members(indexKey);
+            if (keys == null || keys.isEmpty()) {
+                return;
+            }
 
-        log.info("Invalidated cache for user {}", userId);
+            // SREM only the members we read, so keys indexed concurrently stay tracked
+            byte[] rawIndex = rawKey(indexKey);
+            List<byte[]> rawKeys = keys.stream().map(this::rawKey).toList();
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int from = 0; from < rawKeys.size(); from += DELETE_BATCH_SIZE) {
+                    byte[][] batch = rawKeys.subList(from, Math.min(from + DELETE_BATCH_SIZE, rawKeys.size()))
+                            .toArray(new byte[0][]);
+                    connection.keyCommands().unlink(batch);
+                    connection.setCommands().sRem(rawIndex, batch);
+                }
+                return null;
+            });
+            localCache.invalidate(keys);
+
+            log.info("Invalidated {} cached entries for user {}", keys.size(), userId);
+        } catch (Exception e) {
+            log.error("Error invalidating cache for user {}: {}", userId, e.getMessage());
+        }
     }
 
 
     public void invalidateTrendingCache() {
         redisTemplate.delete(TRENDING_PREFIX);
+        localCache.invalidate(List.of(TRENDING_PREFIX));
         log.info("Invalidated trending cache");
     }
 
@@ -104,51 +148,119 @@ public class CacheService {
     public void invalidateSimilarEventsCache(UUID eventId) {
         String key = SIMILAR_PREFIX + eventId;
         redisTemplate.delete(key);
+        localCache.invalidate(List.of(key));
         log.info("Invalidated similar events cache for event {}", eventId);
     }
 
-    private void cache(String key, Object value, long timeout, TimeUnit unit) {
+    private void cache(String key, List<EventRecommendationResponse> value, int softTtlMinutes) {
+        long now = System.currentTimeMillis();
+        localCache.put(key, new CachedRecommendations(value, now, TimeUnit.MINUTES.toMillis(softTtlMinutes)));
         try {
-            redisTemplate.opsForValue().set(key, value, timeout, unit);
-            log.debug("Cached data with key: {} (TTL: {} {})", key, timeout, unit);
+            byte[] rawValue = encode(value, now);
+            Expiration expiration = Expiration.from(hardTtlMinutes(softTtlMinutes), TimeUnit.MINUTES);
+            redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                    connection.stringCommands().set(rawKey(key), rawValue, expiration, RedisStringCommands.SetOption.upsert()));
+            log.debug("Cached data with key: {} (soft TTL: {} min)", key, softTtlMinutes);
         } catch (Exception e) {
             log.error("Error caching data with key {}: {}", key, e.getMessage());
         }
     }
 
-    private List<EventRecommendationResponse> getRecommendations(String key) {
+    /**
+     * Look up the near cache first, then Redis. Redis hits are copied into the near cache.
+     */
+    private CachedRecommendations getRecommendations(String key, int softTtlMinutes) {
+        CachedRecommendations local = localCache.get(key);
+        if (local != null) {
+            recordLookup("l1", true);
+            return local;
+        }
+        recordLookup("l1", false);
+
         try {
-            Object cached = redisTemplate.opsForValue().get(key);
-            if (cached != null) {
+            byte[] cached = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(rawKey(key)));
+            CachedRecommendations recommendations = cached != null ? decode(cached, softTtlMinutes) : null;
+            if (recommendations != null) {
                 log.debug("Cache hit for key: {}", key);
-                // Convert to proper type
-                return objectMapper.convertValue(
-                        cached,
-                        new TypeReference<List<EventRecommendationResponse>>() {}
-                );
+                recordLookup("l2", true);
+                localCache.put(key, recommendations);
+                return recommendations;
             }
             log.debug("Cache miss for key: {}", key);
+            recordLookup("l2", false);
         } catch (Exception e) {
             log.error("Error retrieving from cache with key {}: {}", key, e.getMessage());
         }
         return null;
     }
 
-    private void deleteByPattern(String pattern) {
+    /**
+     * Cache a per-user entry and record its key in the user's key index, in one round trip.
+     * The index expires with the newest entry, since all per-user entries share one TTL.
+     */
+    private void cacheForUser(UUID userId, String key, List<EventRecommendationResponse> value, int softTtlMinutes) {
+        long now = System.currentTimeMillis();
+        localCache.put(key, new CachedRecommendations(value, now, TimeUnit.MINUTES.toMillis(softTtlMinutes)));
         try {
-            var keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.debug("Deleted {} keys matching pattern: {}", keys.size(), pattern);
-            }
+            byte[] rawKey = rawKey(key);
+            byte[] rawIndex = rawKey(USER_KEYS_PREFIX + userId);
+            byte[] rawValue = encode(value, now);
+            long hardTtlMinutes = hardTtlMinutes(softTtlMinutes);
+            Expiration expiration = Expiration.from(hardTtlMinutes, TimeUnit.MINUTES);
+
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.stringCommands().set(rawKey, rawValue, expiration, RedisStringCommands.SetOption.upsert());
+                connection.setCommands().sAdd(rawIndex, rawKey);
+                connection.keyCommands().expire(rawIndex, TimeUnit.MINUTES.toSeconds(hardTtlMinutes));
+                return null;
+            });
+            log.debug("Cached data with key: {} (soft TTL: {} min)", key, softTtlMinutes);
         } catch (Exception e) {
-            log.error("Error deleting keys with pattern {}: {}", pattern, e.getMessage());
+            log.error("Error caching data with key {}: {}", key, e.getMessage());
         }
     }
 
+    /**
+     * Envelope: [magic][written-at epoch millis][codec payload]
+     */
+    private byte[] encode(List<EventRecommendationResponse> value, long writtenAtMillis) {
+        byte[] payload = codec.encode(value);
+        return ByteBuffer.allocate(ENVELOPE_HEADER_SIZE + payload.length)
+                .put(ENVELOPE_MAGIC)
+                .putLong(writtenAtMillis)
+                .put(payload)
+                .array();
+    }
+
+    private CachedRecommendations decode(byte[] bytes, int softTtlMinutes) {
+        if (bytes.length < ENVELOPE_HEADER_SIZE || bytes[0] != ENVELOPE_MAGIC) {
+            return null;
+        }
+
+        long writtenAtMillis = ByteBuffer.wrap(bytes, 1, Long.BYTES).getLong();
+        List<EventRecommendationResponse> recommendations =
+                codec.decode(Arrays.copyOfRange(bytes, ENVELOPE_HEADER_SIZE, bytes.length));
+        return recommendations != null
+                ? new CachedRecommendations(recommendations, writtenAtMillis, TimeUnit.MINUTES.toMillis(softTtlMinutes))
+                : null;
+    }
+
+    private long hardTtlMinutes(int softTtlMinutes) {
+        return (long) softTtlMinutes * hardTtlFactor;
+    }
+
+    private void recordLookup(String tier, boolean hit) {
+        meterRegistry.counter("recommendation.cache.lookups", "tier", tier, "result", hit ? "hit" : "miss").increment();
+    }
+
+    private byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
 
-    private String getUserRecommendationsKey(UUID userId, int page) {
-        return USER_RECOMMENDATIONS_PREFIX + userId + ":page:" + page;
+    private String getUserRecommendationsKey(UUID userId, String variant) {
+        return USER_RECOMMENDATIONS_PREFIX + userId + ":" + variant;
     }
 
     public boolean hasKey(String key) {
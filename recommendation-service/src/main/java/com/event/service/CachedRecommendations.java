@@ -0,0 +1,27 @@
+package com.event.service;
+
+import com.event.dto.EventRecommendationResponse;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * A cached recommendation list with the time it was computed.
+ *
+ * Entries past their soft TTL are still served, but should be refreshed in the background.
+ * Entries past their hard TTL have already expired from Redis.
+ */
+@Value
+public class CachedRecommendations {
+    List<EventRecommendationResponse> recommendations;
+    long writtenAtMillis;
+    long softTtlMillis;
+
+    public boolean isEmpty() {
+        return recommendations == null || recommendations.isEmpty();
+    }
+
+    public boolean isStale() {
+        return System.currentTimeMillis() - writtenAtMillis > softTtlMillis;
+    }
+}
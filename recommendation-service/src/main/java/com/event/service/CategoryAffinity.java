@@ -0,0 +1,62 @@
+package com.event.service;
+
+import java.util.Arrays;
+
+/**
+ * A user's interaction weight per category, indexed by {@link CategoryDictionary} id and decayed
+ * exponentially with age. Weights are stored as of the last update and decayed on read, so adding
+ * one interaction costs one pass over the categories and reading one category is O(1).
+ */
+public final class CategoryAffinity {
+    private final double decayPerMilli;
+    private float[] weights;
+    private long asOfMillis;
+
+    // Creation time of the newest interaction reflected in the weights
+    private volatile long newestInteractionMillis = Long.MIN_VALUE;
+
+    CategoryAffinity(int categories, double decayPerMilli, long asOfMillis) {
+        this.weights = new float[Math.max(categories, 1)];
+        this.decayPerMilli = decayPerMilli;
+        this.asOfMillis = asOfMillis;
+    }
+
+    /**
+     * Add an interaction of the given weight made at atMillis
+     */
+    synchronized void add(int category, double weight, long atMillis) {
+        if (category < 0) return;
+        if (category >= weights.length) {
+            weights = Arrays.copyOf(weights, Math.max(category + 1, weights.length * 2));
+        }
+
+        if (atMillis > asOfMillis) {
+            float factor = (float) decay(atMillis - asOfMillis);
+            for (int i = 0; i < weights.length; i++) weights[i] *= factor;
+            asOfMillis = atMillis;
+        }
+        weights[category] += (float) (weight * decay(asOfMillis - atMillis));
+    }
+
+    long newestInteractionMillis() {
+        return newestInteractionMillis;
+    }
+
+    void markSeen(long interactionMillis) {
+        if (interactionMillis > newestInteractionMillis) {
+            newestInteractionMillis = interactionMillis;
+        }
+    }
+
+    /**
+     * Decayed weight of a category at nowMillis, 0 for unknown categories
+     */
+    public synchronized double get(int category, long nowMillis) {
+        if (category < 0 || category >= weights.length) return 0.0;
+        return weights[category] * decay(Math.max(0, nowMillis - asOfMillis));
+    }
+
+    private double decay(long elapsedMillis) {
+        return Math.exp(-decayPerMilli * elapsedMillis);
+    }
+}
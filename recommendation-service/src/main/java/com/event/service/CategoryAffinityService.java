@@ -0,0 +1,135 @@
+package com.event.service;
+
+import com.event.dto.EventDTO;
+import com.event.dto.InteractionDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-user category affinity profiles.
+ *
+ * A profile is built once from the user's interaction list and cached; later interactions from the
+ * change feed are added to the cached profile instead of rebuilding it. Every request still fetches the
+ * interaction list, so a cached profile that is missing a newer interaction (a change the feed never
+ * delivered, e.g. published while this instance was restarting) is rebuilt from it. Removed
+ * interactions drop the profile via the feed; a missed removal lasts at most the cache TTL.
+ */
+@Slf4j
+@Service
+public class CategoryAffinityService {
+    private final CategoryDictionary categoryDictionary;
+    private final EventIndexService eventIndex;
+    private final Cache<UUID, CategoryAffinity> cache;
+    private final double decayPerMilli;
+
+    public CategoryAffinityService(
+            CategoryDictionary categoryDictionary,
+            EventIndexService eventIndex,
+            MeterRegistry meterRegistry,
+            @Value("${recommendation.affinity.half-life-days:30}") double halfLifeDays,
+            @Value("${recommendation.affinity.cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${recommendation.affinity.cache.max-users:50000}") long maxUsers
+    ) {
+        this.categoryDictionary = categoryDictionary;
+        this.eventIndex = eventIndex;
+        this.decayPerMilli = Math.log(2) / Duration.ofMinutes(Math.round(halfLifeDays * 24 * 60)).toMillis();
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxUsers)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "category-affinity");
+    }
+
+    /**
+     * The user's cached profile, built from their interactions on a miss or when the interactions
+     * include one newer than the profile has seen
+     */
+    public CategoryAffinity forUser(UUID userId, List<InteractionDTO> interactions) {
+        if (userId == null) {
+            return build(interactions);
+        }
+
+        CategoryAffinity cached = cache.getIfPresent(userId);
+        if (cached != null && newestOf(interactions) <= cached.newestInteractionMillis()) {
+            return cached;
+        }
+
+        CategoryAffinity built = build(interactions);
+        cache.put(userId, built);
+        return built;
+    }
+
+    /**
+     * Add a new interaction to the user's cached profile, if there is one. The profile's watermark moves to
+     * the interaction's own createdAt (now if unknown), the clock forUser compares event-service's list with.
+     */
+    public void record(UUID userId, UUID eventId, String type, LocalDateTime createdAt) {
+        if (userId == null) return;
+
+        CategoryAffinity affinity = cache.getIfPresent(userId);
+        if (affinity == null) return;
+
+        Optional<EventDTO> event = eventIndex.get(eventId);
+        if (event.isEmpty()) {
+            // Category unknown here, rebuild from event-service's interaction list next time
+            cache.invalidate(userId);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long at = createdAt != null ? createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : now;
+        affinity.add(categoryDictionary.idOf(event.get().getCategoryName()),
+                InteractionDTO.weightOf(type), Math.min(at, now));
+        affinity.markSeen(at);
+    }
+
+    public void invalidate(UUID userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    private CategoryAffinity build(List<InteractionDTO> interactions) {
+        long now = System.currentTimeMillis();
+        CategoryAffinity affinity = new CategoryAffinity(categoryDictionary.size(), decayPerMilli, now);
+        if (interactions == null) return affinity;
+
+        affinity.markSeen(newestOf(interactions));
+        for (InteractionDTO interaction : interactions) {
+            if (interaction.getCategory() == null) continue;
+
+            long at = interaction.getCreatedAt() != null ? toMillis(interaction) : now;
+            affinity.add(categoryDictionary.idOf(interaction.getCategory()),
+                    interaction.getInteractionWeight(), Math.min(at, now));
+        }
+        return affinity;
+    }
+
+    private static long newestOf(List<InteractionDTO> interactions) {
+        long newest = Long.MIN_VALUE;
+        if (interactions == null) return newest;
+        for (InteractionDTO interaction : interactions) {
+            if (interaction.getCreatedAt() != null) {
+                newest = Math.max(newest, toMillis(interaction));
+            }
+        }
+        return newest;
+    }
+
+    private static long toMillis(InteractionDTO interaction) {
+        return interaction.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
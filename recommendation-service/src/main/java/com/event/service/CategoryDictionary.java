@@ -0,0 +1,165 @@
+package com.event.service;
+
+import com.event.dto.EventDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps category names (case-insensitive) to small dense integer ids, so per-category data can live
+ * in arrays and bitsets indexed by category instead of maps keyed by name.
+ *
+ * Seeded from event-service's categories and refreshed on a fixed delay; categories of events entering
+ * the event index get the next free id on the spot. Other names (user interests, interaction payloads)
+ * are only looked up, so client input can never grow the dictionary. Ids are never reused.
+ * Also holds the category-similarity matrix used for partial interest matches.
+ */
+@Slf4j
+@Component
+public class CategoryDictionary {
+    private final EventServiceClient eventServiceClient;
+    private final List<String> relatedCategories;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    // Names exactly as first seen, so the common lookups skip lower-casing
+    private final Map<String, Integer> exactIds = new ConcurrentHashMap<>();
+    private volatile float[][] similarity = new float[0][0];
+
+    public CategoryDictionary(
+            EventServiceClient eventServiceClient,
+            @Value("${recommendation.interest.related-categories:}") List<String> relatedCategories
+    ) {
+        this.eventServiceClient = eventServiceClient;
+        this.relatedCategories = relatedCategories;
+    }
+
+    /**
+     * Id of a known category, -1 for null or a name not in the catalog or event index
+     */
+    public int idOf(String name) {
+        if (name == null) return -1;
+
+        Integer id = exactIds.get(name);
+        if (id != null) return id;
+
+        id = ids.get(name.toLowerCase());
+        if (id == null) return -1;
+
+        exactIds.putIfAbsent(name, id);
+        return id;
+    }
+
+    /**
+     * Id of a catalog category, assigning the next free id to names not seen before. -1 for null.
+     * Only for names from event-service (the category list or an indexed event).
+     */
+    public int register(String name) {
+        if (name == null) return -1;
+
+        int id = idOf(name);
+        if (id >= 0) return id;
+
+        synchronized (this) {
+            id = ids.computeIfAbsent(name.toLowerCase(), k -> ids.size());
+        }
+        exactIds.putIfAbsent(name, id);
+        return id;
+    }
+
+    /**
+     * Number of ids assigned so far (ids are 0 .. size - 1)
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Interest profile for a user's interests: a bitset of the interest categories, plus for every
+     * other category its strongest configured similarity to one of them
+     */
+    public InterestProfile interestProfile(Collection<String> interests) {
+        if (interests == null || interests.isEmpty()) {
+            return InterestProfile.EMPTY;
+        }
+
+        // Interests outside the catalog match no event, so they get no bit
+        int[] interestIds = interests.stream().mapToInt(this::idOf).filter(id -> id >= 0).distinct().toArray();
+        float[][] matrix = similarity;
+        int categories = size();
+
+        long[] bits = new long[(categories + 63) >>> 6];
+        float[] related = new float[categories];
+        for (int interest : interestIds) {
+            bits[interest >>> 6] |= 1L << interest;
+            if (interest >= matrix.length) continue;
+            float[] row = matrix[interest];
+            for (int c = 0; c < row.length; c++) {
+                related[c] = Math.max(related[c], row[c]);
+            }
+        }
+        return new InterestProfile(bits, related);
+    }
+
+    /**
+     * Seed ids from event-service (sorted by name, so a fresh instance assigns the same ids as its peers
+     * whenever it sees no other names first) and rebuild the similarity matrix
+     */
+    @Scheduled(
+            initialDelayString = "${recommendation.interest.initial-delay-ms:0}",
+            fixedDelayString = "${recommendation.interest.refresh-interval-ms:600000}"
+    )
+    public void refresh() {
+        List<EventDTO.CategoryDTO> categories = eventServiceClient.getCategories();
+        categories.stream()
+                .map(EventDTO.CategoryDTO::getName)
+                .filter(Objects::nonNull)
+                .sorted(String.CASE_INSENSITIVE_ORDER)
+                .forEach(this::register);
+
+        rebuildSimilarity();
+        log.info("Category dictionary refreshed: {} categories ({} from event-service)", size(), categories.size());
+    }
+
+    /**
+     * Parse "a:b:score" entries into a symmetric matrix indexed by category id
+     */
+    private void rebuildSimilarity() {
+        List<int[]> pairs = new ArrayList<>();
+        List<Float> scores = new ArrayList<>();
+        for (String entry : relatedCategories) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 3) {
+                log.warn("Ignoring related-categories entry '{}', expected category:category:score", entry);
+                continue;
+            }
+            try {
+                float score = Float.parseFloat(parts[2].trim());
+                int a = idOf(parts[0].trim());
+                int b = idOf(parts[1].trim());
+                if (a < 0 || b < 0) {
+                    // Not in the catalog yet, picked up by a later refresh once it is
+                    log.debug("Skipping related-categories entry '{}', category not known yet", entry);
+                    continue;
+                }
+                pairs.add(new int[]{a, b});
+                scores.add(Math.max(0f, Math.min(score, 1f)));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring related-categories entry '{}': {}", entry, e.getMessage());
+            }
+        }
+
+        int categories = size();
+        float[][] matrix = new float[categories][categories];
+        for (int i = 0; i < pairs.size(); i++) {
+            int a = pairs.get(i)[0];
+            int b = pairs.get(i)[1];
+            matrix[a][b] = scores.get(i);
+            matrix[b][a] = scores.get(i);
+        }
+        similarity = matrix;
+    }
+}
@@ -0,0 +1,102 @@
+package com.event.service;
+
+import com.event.changes.ChangeEvent;
+import com.event.dto.EventDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.stream.StreamListener;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Applies changes from the change feed: drops the affected recommendation caches and keeps
+ * the event index, similar-events lists and co-interaction model in step with event-service
+ * between full refreshes.
+ *
+ * Cache invalidations and in-memory model updates run on the stream poll thread. Re-fetching an
+ * event and patching similar-events lists is handed to the change-feed worker, so a slow
+ * event-service or a long similar-list patch never delays the invalidations behind it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ChangeFeedListener implements StreamListener<String, MapRecord<String, String, String>> {
+    private final CacheService cacheService;
+    private final EventIndexService eventIndex;
+    private final EventServiceClient eventServiceClient;
+    private final SimilarEventsIndex similarEventsIndex;
+    private final CoInteractionModel coInteractionModel;
+    private final CategoryAffinityService categoryAffinityService;
+    private final Executor changeFeedExecutor;
+
+    @Override
+    public void onMessage(MapRecord<String, String, String> record) {
+        try {
+            apply(ChangeEvent.fromFields(record.getValue()));
+        } catch (Exception e) {
+            log.warn("Failed to apply change {} from {}: {}", record.getId(), record.getStream(), e.getMessage());
+        }
+    }
+
+    private void apply(ChangeEvent change) {
+        log.debug("Applying change {} (event={}, user={})", change.getType(), change.getEventId(), change.getUserId());
+
+        switch (change.getType()) {
+            case ChangeEvent.EVENT_UPDATED, ChangeEvent.EVENT_STATUS_CHANGED -> {
+                cacheService.invalidateTrendingCache();
+                submit(change, () -> {
+                    reindex(change.getEventId());
+                    similarEventsIndex.update(change.getEventId());
+                    cacheService.invalidateSimilarEventsCache(change.getEventId());
+                });
+            }
+            case ChangeEvent.EVENT_DELETED -> {
+                eventIndex.remove(change.getEventId());
+                cacheService.invalidateTrendingCache();
+                submit(change, () -> {
+                    similarEventsIndex.remove(change.getEventId());
+                    cacheService.invalidateSimilarEventsCache(change.getEventId());
+                });
+            }
+            case ChangeEvent.INTERACTION_RECORDED -> {
+                coInteractionModel.record(change.getUserId(), change.getEventId(), change.getDetail());
+                categoryAffinityService.record(
+                        change.getUserId(), change.getEventId(), change.getDetail(), change.getOccurredAt());
+                cacheService.invalidateUserCache(change.getUserId());
+            }
+            case ChangeEvent.INTERACTION_REMOVED -> {
+                categoryAffinityService.invalidate(change.getUserId());
+                cacheService.invalidateUserCache(change.getUserId());
+            }
+            case ChangeEvent.USER_PREFERENCES_UPDATED, ChangeEvent.USER_LOCATION_UPDATED ->
+                    cacheService.invalidateUserCache(change.getUserId());
+            default -> log.debug("Ignoring change type {}", change.getType());
+        }
+    }
+
+    private void submit(ChangeEvent change, Runnable work) {
+        try {
+            changeFeedExecutor.execute(() -> {
+                try {
+                    work.run();
+                } catch (Exception e) {
+                    log.warn("Failed to apply change {} for event {}: {}", change.getType(), change.getEventId(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Change feed worker saturated, dropped {} for event {}", change.getType(), change.getEventId());
+        }
+    }
+
+    private void reindex(UUID eventId) {
+        EventDTO event = eventServiceClient.getEvent(eventId);
+        if (event != null) {
+            // Removes the event if it is no longer approved
+            eventIndex.upsert(event);
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.event.service;
+
+import com.event.dto.InteractionDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Item-to-item co-interaction model ("users who saved X also saved Y").
+ *
+ * Every user keeps a short history of the events they interacted with, at the weight of their strongest
+ * interaction type. When a user interacts with an event, each pair it forms with their history gains
+ * min(weight a, weight b). Events are mapped to dense int ids and each event's co-interactions are held
+ * as a sparse vector of parallel int/float arrays, capped at max-neighbours entries.
+ *
+ * The model is rebuilt from event-service's interaction feed on a fixed delay and kept current in between
+ * from INTERACTION_RECORDED changes. Removed interactions only disappear at the next rebuild.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class CoInteractionModel {
+    private final EventServiceClient eventServiceClient;
+
+    @Value("${recommendation.co-interaction.window-days:180}")
+    private int windowDays;
+
+    @Value("${recommendation.co-interaction.page-size:2000}")
+    private int pageSize;
+
+    @Value("${recommendation.co-interaction.max-history:50}")
+    private int maxHistory;
+
+    @Value("${recommendation.co-interaction.max-neighbours:100}")
+    private int maxNeighbours;
+
+    private volatile Model model = new Model(0, 0);
+    private volatile boolean ready = false;
+
+    // Changes that arrive while a rebuild is reading the feed, replayed onto the new model
+    private final Queue<Object[]> pending = new ConcurrentLinkedQueue<>();
+    private volatile boolean rebuilding = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Apply one interaction (idempotent: repeating it, or a weaker type on the same event, changes nothing)
+     */
+    public void record(UUID userId, UUID eventId, String type) {
+        if (userId == null || eventId == null) return;
+
+        float weight = (float) InteractionDTO.weightOf(type);
+        if (weight <= 0) return;
+
+        if (rebuilding) {
+            pending.add(new Object[]{userId, eventId, weight});
+        }
+        if (ready) {
+            model.record(userId, eventId, weight);
+        }
+    }
+
+    /**
+     * Cosine-normalised co-interaction between two events, in [0, 1]
+     */
+    public double similarity(UUID a, UUID b) {
+        return model.similarity(a, b);
+    }
+
+    /**
+     * Events most often interacted with by users who interacted with this event, strongest first
+     */
+    public LinkedHashMap<UUID, Double> alsoInteractedWith(UUID eventId, int limit) {
+        return model.neighbours(eventId, limit);
+    }
+
+    /**
+     * Co-interaction scores of every event related to a user's history, normalised so the best is 1.0.
+     * Costs O(history × max-neighbours) once per request; each candidate is then a hash lookup.
+     */
+    public ItemScores scoresFor(List<InteractionDTO> interactions) {
+        if (!ready || interactions == null || interactions.isEmpty()) {
+            return ItemScores.EMPTY;
+        }
+
+        Map<UUID, Double> history = new HashMap<>();
+        for (InteractionDTO interaction : interactions) {
+            if (interaction.getEventId() == null) continue;
+            history.merge(interaction.getEventId(), interaction.getInteractionWeight(), Math::max);
+        }
+        return model.scores(history);
+    }
+
+    @Scheduled(
+            initialDelayString = "${recommendation.co-interaction.initial-delay-ms:10000}",
+            fixedDelayString = "${recommendation.co-interaction.rebuild-interval-ms:3600000}"
+    )
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.now().minusDays(windowDays).truncatedTo(ChronoUnit.SECONDS);
+
+        Model built = new Model(maxHistory, maxNeighbours);
+        pending.clear();
+        rebuilding = true;
+        int rows = 0;
+        boolean complete = false;
+        try {
+            UUID afterUserId = null;
+            UUID afterId = null;
+            UUID currentUser = null;
+            List<InteractionDTO> userRows = new ArrayList<>();
+
+            while (true) {
+                List<InteractionDTO> page = eventServiceClient.getInteractionFeedPage(since, afterUserId, afterId, pageSize);
+                if (page == null) break;
+                if (page.isEmpty()) {
+                    complete = true;
+                    break;
+                }
+
+                // Rows arrive grouped by user, each user's history is replayed in time order
+                for (InteractionDTO row : page) {
+                    if (!row.getUserId().equals(currentUser)) {
+                        replay(built, userRows);
+                        currentUser = row.getUserId();
+                    }
+                    userRows.add(row);
+                }
+                rows += page.size();
+
+                InteractionDTO last = page.get(page.size() - 1);
+                afterUserId = last.getUserId();
+                afterId = last.getId();
+                if (page.size() < pageSize) {
+                    complete = true;
+                    break;
+                }
+            }
+
+            if (!complete) {
+                // A failed page leaves the rest of the feed unread, a partial model would lose most pairs
+                log.warn("Interaction feed stopped early after {} interactions, keeping co-interaction model with {} events",
+                        rows, model.itemCount());
+                return;
+            }
+            replay(built, userRows);
+
+            if (rows == 0 && model.itemCount() > 0) {
+                // An empty feed is far more likely an event-service outage than no interactions at all
+                log.warn("Interaction feed returned no rows, keeping co-interaction model with {} events", model.itemCount());
+                return;
+            }
+
+            model = built;
+        } finally {
+            rebuilding = false;
+        }
+
+        // Interactions that arrived while the feed was being read (repeats are no-ops)
+        Object[] change;
+        while ((change = pending.poll()) != null) {
+            built.record((UUID) change[0], (UUID) change[1], (Float) change[2]);
+        }
+
+        ready = true;
+        log.info("Co-interaction model rebuilt from {} interactions: {} events, {} users in {} ms",
+                rows, built.itemCount(), built.userCount(), System.currentTimeMillis() - start);
+    }
+
+    private static void replay(Model target, List<InteractionDTO> userRows) {
+        if (userRows.isEmpty()) return;
+
+        userRows.sort(Comparator.comparing(InteractionDTO::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+        for (InteractionDTO row : userRows) {
+            target.record(row.getUserId(), row.getEventId(), (float) row.getInteractionWeight());
+        }
+        userRows.clear();
+    }
+
+    /**
+     * Per-request view of co-interaction scores, by event id
+     */
+    public static final class ItemScores {
+        static final ItemScores EMPTY = new ItemScores(Collections.emptyMap());
+
+        private final Map<UUID, Float> scores;
+
+        ItemScores(Map<UUID, Float> scores) {
+            this.scores = scores;
+        }
+
+        public double get(UUID eventId) {
+            Float score = scores.get(eventId);
+            return score != null ? score : 0.0;
+        }
+
+        public boolean isEmpty() {
+            return scores.isEmpty();
+        }
+    }
+
+    /**
+     * Mutable model state. Item vectors are parallel arrays indexed by the event's int id.
+     */
+    private static final class Model {
+        private final int maxHistory;
+        private final int maxNeighbours;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final Map<UUID, Integer> itemIds = new HashMap<>();
+        private UUID[] items = new UUID[1024];
+        private int[][] neighbourIds = new int[1024][];
+        private float[][] neighbourWeights = new float[1024][];
+        private int[] neighbourCounts = new int[1024];
+        private float[] mass = new float[1024];
+
+        private final Map<UUID, History> histories = new HashMap<>();
+
+        Model(int maxHistory, int maxNeighbours) {
+            this.maxHistory = maxHistory;
+            this.maxNeighbours = maxNeighbours;
+        }
+
+        int itemCount() {
+            lock.readLock().lock();
+            try {
+                return itemIds.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int userCount() {
+            lock.readLock().lock();
+            try {
+                return histories.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void record(UUID userId, UUID eventId, float weight) {
+            lock.writeLock().lock();
+            try {
+                int item = intern(eventId);
+                History history = histories.computeIfAbsent(userId, k -> new History(maxHistory));
+
+                int pos = history.indexOf(item);
+                float previous = pos >= 0 ? history.weights[pos] : 0f;
+                if (weight <= previous) return;
+
+                // Pair weights are min(a, b), so raising this item's weight adds the difference of the minimums
+                for (int i = 0; i < history.size; i++) {
+                    if (i == pos) continue;
+                    float other = history.weights[i];
+                    float delta = Math.min(weight, other) - Math.min(previous, other);
+                    if (delta > 0) {
+                        add(item, history.items[i], delta);
+                        add(history.items[i], item, delta);
+                    }
+                }
+                mass[item] += weight - previous;
+
+                if (pos >= 0) {
+                    history.weights[pos] = weight;
+                } else {
+                    history.append(item, weight);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        double similarity(UUID a, UUID b) {
+            lock.readLock().lock();
+            try {
+                Integer ia = itemIds.get(a);
+                Integer ib = itemIds.get(b);
+                if (ia == null || ib == null) return 0.0;
+                return cosine(ia, ib, weight(ia, ib));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        LinkedHashMap<UUID, Double> neighbours(UUID eventId, int limit) {
+            lock.readLock().lock();
+            try {
+                LinkedHashMap<UUID, Double> result = new LinkedHashMap<>();
+                Integer item = itemIds.get(eventId);
+                if (item == null) return result;
+
+                int count = neighbourCounts[item];
+                Integer[] order = new Integer[count];
+                double[] scores = new double[count];
+                for (int i = 0; i < count; i++) {
+                    order[i] = i;
+                    scores[i] = cosine(item, neighbourIds[item][i], neighbourWeights[item][i]);
+                }
+                Arrays.sort(order, (x, y) -> Double.compare(scores[y], scores[x]));
+
+                for (int i = 0; i < count && result.size() < limit; i++) {
+                    result.put(items[neighbourIds[item][order[i]]], scores[order[i]]);
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        ItemScores scores(Map<UUID, Double> history) {
+            lock.readLock().lock();
+            try {
+                Map<UUID, Float> scores = new HashMap<>();
+                float max = 0f;
+                for (Map.Entry<UUID, Double> entry : history.entrySet()) {
+                    Integer item = itemIds.get(entry.getKey());
+                    if (item == null) continue;
+
+                    for (int i = 0; i < neighbourCounts[item]; i++) {
+                        int neighbour = neighbourIds[item][i];
+                        float contribution = (float) (entry.getValue() * cosine(item, neighbour, neighbourWeights[item][i]));
+                        max = Math.max(max, scores.merge(items[neighbour], contribution, Float::sum));
+                    }
+                }
+
+                if (max <= 0f) return ItemScores.EMPTY;
+                final float norm = max;
+                scores.replaceAll((id, score) -> score / norm);
+                return new ItemScores(scores);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private double cosine(int a, int b, float weight) {
+            double denominator = Math.sqrt((double) mass[a] * mass[b]);
+            return denominator > 0 ? Math.min(1.0, weight / denominator) : 0.0;
+        }
+
+        private float weight(int a, int b) {
+            int[] ids = neighbourIds[a];
+            for (int i = 0; i < neighbourCounts[a]; i++) {
+                if (ids[i] == b) return neighbourWeights[a][i];
+            }
+            return 0f;
+        }
+
+        private int intern(UUID eventId) {
+            Integer existing = itemIds.get(eventId);
+            if (existing != null) return existing;
+
+            int id = itemIds.size();
+            if (id == items.length) {
+                int capacity = items.length * 2;
+                items = Arrays.copyOf(items, capacity);
+                neighbourIds = Arrays.copyOf(neighbourIds, capacity);
+                neighbourWeights = Arrays.copyOf(neighbourWeights, capacity);
+                neighbourCounts = Arrays.copyOf(neighbourCounts, capacity);
+                mass = Arrays.copyOf(mass, capacity);
+            }
+            items[id] = eventId;
+            itemIds.put(eventId, id);
+            return id;
+        }
+
+        /**
+         * Add weight to the (a, b) entry of a's vector. A full vector gives up its weakest entry
+         * when the new weight beats it, so the strongest co-interactions survive.
+         */
+        private void add(int a, int b, float delta) {
+            int[] ids = neighbourIds[a];
+            float[] weights = neighbourWeights[a];
+            int count = neighbourCounts[a];
+
+            int weakest = -1;
+            for (int i = 0; i < count; i++) {
+                if (ids[i] == b) {
+                    weights[i] += delta;
+                    return;
+                }
+                if (weakest < 0 || weights[i] < weights[weakest]) weakest = i;
+            }
+
+            if (ids == null || count == ids.length) {
+                if (count < maxNeighbours) {
+                    int capacity = Math.min(maxNeighbours, Math.max(4, count * 2));
+                    ids = neighbourIds[a] = ids == null ? new int[capacity] : Arrays.copyOf(ids, capacity);
+                    weights = neighbourWeights[a] = weights == null ? new float[capacity] : Arrays.copyOf(weights, capacity);
+                } else {
+                    if (delta > weights[weakest]) {
+                        ids[weakest] = b;
+                        weights[weakest] = delta;
+                    }
+                    return;
+                }
+            }
+            ids[count] = b;
+            weights[count] = delta;
+            neighbourCounts[a] = count + 1;
+        }
+    }
+
+    /**
+     * A user's most recent events (int ids) and the weight of their strongest interaction with each
+     */
+    private static final class History {
+        final int[] items;
+        final float[] weights;
+        int size;
+
+        History(int capacity) {
+            items = new int[capacity];
+            weights = new float[capacity];
+        }
+
+        int indexOf(int item) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == item) return i;
+            }
+            return -1;
+        }
+
+        void append(int item, float weight) {
+            if (size == items.length) {
+                // Oldest event leaves the history; the pairs it already formed stay in the model
+                System.arraycopy(items, 1, items, 0, size - 1);
+                System.arraycopy(weights, 1, weights, 0, size - 1);
+                size--;
+            }
+            items[size] = item;
+            weights[size] = weight;
+            size++;
+        }
+    }
+}
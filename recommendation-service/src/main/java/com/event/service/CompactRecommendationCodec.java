@@ -0,0 +1,132 @@
+package com.event.service;
+
+import com.event.dto.EventDTO;
+import com.event.dto.EventRecommendationResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stores only the ranking of a recommendation list: (eventId, score, distance, breakdown, reasons)
+ * per entry, in a fixed binary layout. Event fields are hydrated from the event index on read,
+ * so cached pages also pick up event updates.
+ *
+ * Entries whose event has left the index (cancelled, started) are dropped on read. While the
+ * index is still loading, cached entries cannot be hydrated and are treated as misses.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "recommendation.cache.codec", havingValue = "compact", matchIfMissing = true)
+public class CompactRecommendationCodec implements RecommendationCodec {
+    private static final byte VERSION = 1;
+
+    private final EventIndexService eventIndex;
+
+    @Override
+    public byte[] encode(List<EventRecommendationResponse> recommendations) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48 * recommendations.size() + 8);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(recommendations.size());
+
+            for (EventRecommendationResponse rec : recommendations) {
+                out.writeLong(rec.getEventId().getMostSignificantBits());
+                out.writeLong(rec.getEventId().getLeastSignificantBits());
+                writeNullable(out, rec.getScore());
+                writeNullable(out, rec.getDistanceKm());
+
+                EventRecommendationResponse.ScoreBreakdown breakdown = rec.getScoreBreakdown();
+                out.writeBoolean(breakdown != null);
+                if (breakdown != null) {
+                    writeNullable(out, breakdown.getGeoScore());
+                    writeNullable(out, breakdown.getInterestScore());
+                    writeNullable(out, breakdown.getInteractionScore());
+                    writeNullable(out, breakdown.getPopularityScore());
+                    writeNullable(out, breakdown.getRecencyScore());
+                }
+
+                List<String> reasons = rec.getReasons() != null ? rec.getReasons() : List.of();
+                int reasonCount = Math.min(reasons.size(), 255);
+                out.writeByte(reasonCount);
+                for (int r = 0; r < reasonCount; r++) {
+                    out.writeUTF(reasons.get(r));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public List<EventRecommendationResponse> decode(byte[] bytes) {
+        if (!eventIndex.isReady()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != VERSION) {
+                return null;
+            }
+
+            int size = in.readInt();
+            List<EventRecommendationResponse> recommendations = new ArrayList<>(size);
+
+            for (int i = 0; i < size; i++) {
+                UUID eventId = new UUID(in.readLong(), in.readLong());
+                Double score = readNullable(in);
+                Double distanceKm = readNullable(in);
+
+                EventRecommendationResponse.ScoreBreakdown breakdown = null;
+                if (in.readBoolean()) {
+                    breakdown = EventRecommendationResponse.ScoreBreakdown.builder()
+                            .geoScore(readNullable(in))
+                            .interestScore(readNullable(in))
+                            .interactionScore(readNullable(in))
+                            .popularityScore(readNullable(in))
+                            .recencyScore(readNullable(in))
+                            .build();
+                }
+
+                int reasonCount = in.readUnsignedByte();
+                List<String> reasons = new ArrayList<>(reasonCount);
+                for (int r = 0; r < reasonCount; r++) {
+                    reasons.add(in.readUTF());
+                }
+
+                Optional<EventDTO> event = eventIndex.get(eventId);
+                if (event.isEmpty()) continue;
+
+                recommendations.add(EventRecommendationResponse.fromEvent(event.get())
+                        .score(score)
+                        .distanceKm(distanceKm)
+                        .reasons(reasons)
+                        .scoreBreakdown(breakdown)
+                        .build());
+            }
+            return recommendations;
+
+        } catch (IOException e) {
+            log.warn("Discarding unreadable cached recommendations: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Scores are stored as floats (NaN marks null); the precision loss is far below what ranking needs
+    private static void writeNullable(DataOutputStream out, Double value) throws IOException {
+        out.writeFloat(value != null ? value.floatValue() : Float.NaN);
+    }
+
+    private static Double readNullable(DataInputStream in) throws IOException {
+        float value = in.readFloat();
+        return Float.isNaN(value) ? null : (double) value;
+    }
+}
@@ -0,0 +1,336 @@
+package com.event.service;
+
+import com.event.dto.CursorPageResponse;
+import com.event.dto.EventDTO;
+import com.event.dto.Location;
+import com.event.util.DistanceKernel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Resident index of all APPROVED upcoming events.
+ *
+ * Events are bucketed into a lat/lng grid (for radius lookups), into per-category posting lists and
+ * into one grid per category (for nearest same-category lookups), so candidate generation is a local
+ * lookup instead of a call to event-service.
+ * The index is rebuilt from event-service on a fixed delay and can be updated one event at a time.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class EventIndexService {
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final EventServiceClient eventServiceClient;
+    private final CategoryDictionary categoryDictionary;
+
+    @Value("${recommendation.index.cell-size-deg:0.1}")
+    private double cellSizeDeg;
+
+    @Value("${recommendation.index.page-size:200}")
+    private int pageSize;
+
+    @Value("${recommendation.index.max-events:50000}")
+    private int maxEvents;
+
+    private final Map<UUID, EventDTO> events = new ConcurrentHashMap<>();
+    private final Map<Long, Set<UUID>> cells = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> categories = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, Set<UUID>>> categoryCells = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * Whether the index has completed at least one full load and can serve candidates
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    public Optional<EventDTO> get(UUID eventId) {
+        EventDTO event = events.get(eventId);
+        return isUpcoming(event, LocalDateTime.now()) ? Optional.of(event) : Optional.empty();
+    }
+
+    /**
+     * Upcoming events within radiusKm of the given point
+     */
+    public List<EventDTO> findNearby(double latitude, double longitude, double radiusKm) {
+        double latSpan = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double lonSpan = Math.min(radiusKm / (KM_PER_DEGREE * cosLat), 180.0);
+
+        int minLat = cellIndex(latitude - latSpan);
+        int maxLat = cellIndex(latitude + latSpan);
+        int minLon = cellIndex(longitude - lonSpan);
+        int maxLon = cellIndex(longitude + lonSpan);
+
+        DistanceKernel kernel = DistanceKernel.from(Location.builder().latitude(latitude).longitude(longitude).build());
+        if (kernel == null) return Collections.emptyList();
+        LocalDateTime now = LocalDateTime.now();
+        List<EventDTO> result = new ArrayList<>();
+
+        for (int latIdx = minLat; latIdx <= maxLat; latIdx++) {
+            for (int lonIdx = minLon; lonIdx <= maxLon; lonIdx++) {
+                Set<UUID> bucket = cells.get(cellKey(latIdx, lonIdx));
+                if (bucket == null) continue;
+
+                for (UUID id : bucket) {
+                    EventDTO event = events.get(id);
+                    if (isUpcoming(event, now) && kernel.isWithinRadius(event.getLocation(), radiusKm)) {
+                        result.add(event);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The k upcoming events of a category (case-insensitive) nearest to the given point within radiusKm,
+     * nearest first. Searches the category's grid in rings of cells around the point and stops once no
+     * unvisited cell can hold anything closer than the k-th event found, so the cost depends on k and
+     * local density rather than on how many events the radius covers.
+     */
+    public List<EventDTO> findNearest(String category, double latitude, double longitude, double radiusKm, int k) {
+        if (category == null || k <= 0) return Collections.emptyList();
+        Map<Long, Set<UUID>> grid = categoryCells.get(category.toLowerCase());
+        if (grid == null) return Collections.emptyList();
+
+        DistanceKernel kernel = DistanceKernel.from(Location.builder().latitude(latitude).longitude(longitude).build());
+        if (kernel == null) return Collections.emptyList();
+
+        double latSpan = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.max(Math.cos(Math.toRadians(Math.min(Math.abs(latitude) + latSpan, 90.0))), 0.01);
+        int latCells = (int) Math.ceil(latSpan / cellSizeDeg);
+        int lonCells = (int) Math.min(Math.ceil(radiusKm / (KM_PER_DEGREE * cosLat) / cellSizeDeg), 1800);
+        // Lower bound on the distance gained per ring, taken at the search area's highest latitude
+        double ringKm = cellSizeDeg * KM_PER_DEGREE * cosLat;
+
+        int centreLat = cellIndex(latitude);
+        int centreLon = cellIndex(longitude);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Max-heap on distance holding the k nearest so far
+        PriorityQueue<Map.Entry<Double, EventDTO>> nearest =
+                new PriorityQueue<>(k, (a, b) -> Double.compare(b.getKey(), a.getKey()));
+
+        for (int ring = 0; ring <= Math.max(latCells, lonCells); ring++) {
+            for (int dLat = -Math.min(ring, latCells); dLat <= Math.min(ring, latCells); dLat++) {
+                for (int dLon = -Math.min(ring, lonCells); dLon <= Math.min(ring, lonCells); dLon++) {
+                    // Only the ring's border, inner cells were visited by earlier rings
+                    if (Math.abs(dLat) != ring && Math.abs(dLon) != ring) continue;
+
+                    Set<UUID> bucket = grid.get(cellKey(centreLat + dLat, centreLon + dLon));
+                    if (bucket == null) continue;
+
+                    for (UUID id : bucket) {
+                        EventDTO event = events.get(id);
+                        if (!isUpcoming(event, now)) continue;
+
+                        double distance = kernel.distanceKm(event.getLocation());
+                        if (distance > radiusKm) continue;
+                        if (nearest.size() < k) {
+                            nearest.add(Map.entry(distance, event));
+                        } else if (distance < nearest.peek().getKey()) {
+                            nearest.poll();
+                            nearest.add(Map.entry(distance, event));
+                        }
+                    }
+                }
+            }
+            // Every cell beyond this ring is at least ring * ringKm away
+            if (nearest.size() == k && nearest.peek().getKey() <= ring * ringKm) break;
+        }
+
+        List<Map.Entry<Double, EventDTO>> sorted = new ArrayList<>(nearest);
+        sorted.sort(Map.Entry.comparingByKey());
+        List<EventDTO> result = new ArrayList<>(sorted.size());
+        for (Map.Entry<Double, EventDTO> entry : sorted) result.add(entry.getValue());
+        return result;
+    }
+
+    /**
+     * Upcoming events in a category (case-insensitive)
+     */
+    public List<EventDTO> findByCategory(String category) {
+        if (category == null) return Collections.emptyList();
+
+        Set<UUID> posting = categories.get(category.toLowerCase());
+        if (posting == null) return Collections.emptyList();
+
+        LocalDateTime now = LocalDateTime.now();
+        return posting.stream()
+                .map(events::get)
+                .filter(event -> isUpcoming(event, now))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * All indexed upcoming events, in no particular order
+     */
+    public List<EventDTO> findAll() {
+        LocalDateTime now = LocalDateTime.now();
+        return events.values().stream()
+                .filter(event -> isUpcoming(event, now))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The soonest upcoming events, ordered by start time
+     */
+    public List<EventDTO> findUpcoming(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return events.values().stream()
+                .filter(event -> isUpcoming(event, now))
+                .sorted(Comparator.comparing(EventDTO::getStartTime))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Insert or replace a single event. Events that are no longer APPROVED are removed.
+     */
+    public void upsert(EventDTO event) {
+        if (event == null || event.getId() == null) return;
+
+        if (!"APPROVED".equalsIgnoreCase(event.getStatus()) || !isUpcoming(event, LocalDateTime.now())) {
+            remove(event.getId());
+            return;
+        }
+
+        categoryDictionary.register(event.getCategoryName());
+        EventDTO previous = events.put(event.getId(), event);
+        if (previous != null) {
+            unlink(previous);
+        }
+        link(event);
+    }
+
+    public void remove(UUID eventId) {
+        EventDTO previous = events.remove(eventId);
+        if (previous != null) {
+            unlink(previous);
+        }
+    }
+
+    /**
+     * Reload the full catalog of upcoming approved events from event-service.
+     * Events missing from the reload (cancelled, deleted or started) are dropped.
+     */
+    @Scheduled(
+            initialDelayString = "${recommendation.index.initial-delay-ms:0}",
+            fixedDelayString = "${recommendation.index.refresh-interval-ms:60000}"
+    )
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        Set<UUID> seen = new HashSet<>();
+        String cursor = null;
+        boolean complete = false;
+
+        while (seen.size() < maxEvents) {
+            CursorPageResponse<EventDTO> batch = eventServiceClient.getUpcomingEventsAfter(cursor, pageSize);
+            if (batch == null) break;
+
+            for (EventDTO event : batch.getContent()) {
+                // /upcoming only lists approved events, status may be omitted from the payload
+                if (event.getStatus() == null) event.setStatus("APPROVED");
+                upsert(event);
+                seen.add(event.getId());
+            }
+
+            cursor = batch.getNextCursor();
+            if (cursor == null) {
+                complete = true;
+                break;
+            }
+        }
+
+        if (!complete && seen.size() < maxEvents) {
+            // A failed page leaves the tail of the catalog unseen, so nothing is safe to drop
+            log.warn("Event index refresh stopped early after {} events, keeping previously indexed events", seen.size());
+            return;
+        }
+
+        if (seen.isEmpty() && !events.isEmpty()) {
+            // An empty reload is far more likely an event-service outage than an empty catalog
+            log.warn("Event index refresh returned no events, keeping {} indexed events", events.size());
+            return;
+        }
+
+        events.keySet().removeIf(id -> {
+            if (seen.contains(id)) return false;
+            EventDTO stale = events.get(id);
+            if (stale != null) unlink(stale);
+            return true;
+        });
+
+        ready = true;
+        log.info("Event index refreshed: {} events in {} ms", events.size(), System.currentTimeMillis() - start);
+    }
+
+    private void link(EventDTO event) {
+        Long cell = cellKey(event.getLocation());
+        if (cell != null) {
+            cells.computeIfAbsent(cell, k -> ConcurrentHashMap.newKeySet()).add(event.getId());
+        }
+
+        String category = event.getCategoryName();
+        if (category != null) {
+            categories.computeIfAbsent(category.toLowerCase(), k -> ConcurrentHashMap.newKeySet()).add(event.getId());
+            if (cell != null) {
+                categoryCells.computeIfAbsent(category.toLowerCase(), k -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(cell, k -> ConcurrentHashMap.newKeySet()).add(event.getId());
+            }
+        }
+    }
+
+    private void unlink(EventDTO event) {
+        Long cell = cellKey(event.getLocation());
+        if (cell != null) {
+            Set<UUID> bucket = cells.get(cell);
+            if (bucket != null) bucket.remove(event.getId());
+        }
+
+        String category = event.getCategoryName();
+        if (category != null) {
+            Set<UUID> posting = categories.get(category.toLowerCase());
+            if (posting != null) posting.remove(event.getId());
+
+            Map<Long, Set<UUID>> grid = categoryCells.get(category.toLowerCase());
+            if (grid != null && cell != null) {
+                Set<UUID> bucket = grid.get(cell);
+                if (bucket != null) bucket.remove(event.getId());
+            }
+        }
+    }
+
+    private boolean isUpcoming(EventDTO event, LocalDateTime now) {
+        return event != null && event.getStartTime() != null && event.getStartTime().isAfter(now);
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellSizeDeg);
+    }
+
+    private Long cellKey(Location location) {
+        if (location == null || !location.isValid()) return null;
+        return cellKey(cellIndex(location.getLatitude()), cellIndex(location.getLongitude()));
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+}
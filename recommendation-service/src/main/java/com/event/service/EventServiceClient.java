@@ -1,8 +1,9 @@
 package com.event.service;
 
+import com.event.dto.CursorPageResponse;
 import com.event.dto.EventDTO;
 import com.event.dto.InteractionDTO;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.event.dto.PageResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,16 +13,18 @@ import org.springframework.web.client.RestClient;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class EventServiceClient {
 
+    // Nearest events kept by event-service's /nearby (its maximum)
+    private static final int NEARBY_LIMIT = 200;
+
     private final RestClient eventClient;
-    private final ObjectMapper objectMapper;
+    private final RestClient eventCatalogClient;
+    private final ServiceTokenProvider serviceTokenProvider;
 
     @Value("${services.event-url:http://event-service:8084}")
     private String eventServiceUrl;
@@ -31,27 +34,17 @@ public class EventServiceClient {
      */
     public List<EventDTO> getUpcomingEvents(int limit) {
         try {
-            // 1. Fetch as Raw Map (Safe)
-            Map<String, Object> response = eventClient.get()
+            // Decoded straight from the response stream into EventDTOs (no intermediate Map)
+            PageResponse<EventDTO> response = eventClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/api/events/upcoming")
                             .queryParam("page", 0)
                             .queryParam("size", limit)
                             .build())
                     .retrieve()
-                    .body(new ParameterizedTypeReference<Map<String, Object>>() {});
-
-            if (response == null || !response.containsKey("content")) {
-                return Collections.emptyList();
-            }
+                    .body(new ParameterizedTypeReference<PageResponse<EventDTO>>() {});
 
-            // 2. Extract the "content" list (which is a list of LinkedHashMaps)
-            List<?> content = (List<?>) response.get("content");
-
-            // 3. Convert Map -> EventDTO using Jackson
-            return content.stream()
-                    .map(item -> objectMapper.convertValue(item, EventDTO.class))
-                    .collect(Collectors.toList());
+            return response != null ? response.getContent() : Collections.emptyList();
 
         } catch (Exception e) {
             log.error("Error fetching upcoming events: {}", e.getMessage());
@@ -59,28 +52,62 @@ public class EventServiceClient {
         }
     }
 
+    /**
+     * Get the page of upcoming approved events after a cursor (null for the first page), used to stream
+     * the full catalog. Keyset pagination keeps deep pages as cheap as the first and skips the COUNT.
+     * Goes through the catalog client so bulk loads never compete with user-facing calls.
+     * Returns null on error, so callers can tell a failure from the end of the catalog.
+     */
+    public CursorPageResponse<EventDTO> getUpcomingEventsAfter(String cursor, int size) {
+        try {
+            return eventCatalogClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/api/events/upcoming/cursor")
+                            .queryParamIfPresent("cursor", java.util.Optional.ofNullable(cursor))
+                            .queryParam("size", size)
+                            .build())
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<CursorPageResponse<EventDTO>>() {});
+
+        } catch (Exception e) {
+            log.error("Error fetching upcoming events after cursor: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get a single event, or null if it cannot be fetched
+     */
+    public EventDTO getEvent(java.util.UUID eventId) {
+        try {
+            return eventClient.get()
+                    .uri("/api/events/{id}", eventId)
+                    .retrieve()
+                    .body(EventDTO.class);
+
+        } catch (Exception e) {
+            log.warn("Error fetching event {}: {}", eventId, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Get events near a location (Handles List response)
      */
     public List<EventDTO> getNearbyEvents(Double latitude, Double longitude, Double radiusKm) {
         try {
-            // 1. Fetch as Raw List
-            List<Object> response = eventClient.get()
+            List<EventDTO> response = eventClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/api/events/nearby")
                             .queryParam("latitude", latitude)
                             .queryParam("longitude", longitude)
                             .queryParam("radiusKm", radiusKm)
+                            .queryParam("limit", NEARBY_LIMIT)
                             .build())
                     .retrieve()
-                    .body(new ParameterizedTypeReference<List<Object>>() {});
-
-            if (response == null) return Collections.emptyList();
+                    .body(new ParameterizedTypeReference<List<EventDTO>>() {});
 
-            // 2. Convert Map -> EventDTO
-            return response.stream()
-                    .map(item -> objectMapper.convertValue(item, EventDTO.class))
-                    .collect(Collectors.toList());
+            return response != null ? response : Collections.emptyList();
 
         } catch (Exception e) {
             log.error("Error fetching nearby events: {}", e.getMessage());
@@ -93,17 +120,13 @@ public class EventServiceClient {
      */
     public List<InteractionDTO> getUserInteractions(java.util.UUID userId, String token) {
         try {
-            List<Object> response = eventClient.get()
+            List<InteractionDTO> response = eventClient.get()
                     .uri("/api/interactions/user/{userId}", userId)
                     .headers(h -> h.setBearerAuth(token))
                     .retrieve()
-                    .body(new ParameterizedTypeReference<List<Object>>() {});
+                    .body(new ParameterizedTypeReference<List<InteractionDTO>>() {});
 
-            if (response == null) return Collections.emptyList();
-
-            return response.stream()
-                    .map(item -> objectMapper.convertValue(item, InteractionDTO.class))
-                    .collect(Collectors.toList());
+            return response != null ? response : Collections.emptyList();
 
         } catch (Exception e) {
             log.warn("Error fetching user interactions for user {}: {}", userId, e.getMessage());
@@ -111,33 +134,77 @@ public class EventServiceClient {
         }
     }
 
+    /**
+     * Get all categories, empty on error
+     */
+    public List<EventDTO.CategoryDTO> getCategories() {
+        try {
+            List<EventDTO.CategoryDTO> response = eventCatalogClient.get()
+                    .uri("/api/categories")
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<EventDTO.CategoryDTO>>() {});
+
+            return response != null ? response : Collections.emptyList();
+
+        } catch (Exception e) {
+            log.error("Error fetching categories: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Get one page of the interaction feed: interactions created since a point in time, ordered by
+     * (userId, id). Pass the last row's userId and id to continue. Authenticated with this service's
+     * own token (the feed needs the SERVICE role). Returns null on error, so callers can tell a failure
+     * from the end of the feed.
+     */
+    public List<InteractionDTO> getInteractionFeedPage(
+            java.time.LocalDateTime since, java.util.UUID afterUserId, java.util.UUID afterId, int limit) {
+        String token = serviceTokenProvider.getToken();
+        if (token == null) {
+            return null;
+        }
+
+        try {
+            List<InteractionDTO> response = eventCatalogClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/api/interactions/feed")
+                            .queryParam("since", since)
+                            .queryParamIfPresent("afterUserId", java.util.Optional.ofNullable(afterUserId))
+                            .queryParamIfPresent("afterId", java.util.Optional.ofNullable(afterId))
+                            .queryParam("limit", limit)
+                            .build())
+                    .headers(h -> h.setBearerAuth(token))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<InteractionDTO>>() {});
+
+            return response != null ? response : Collections.emptyList();
+
+        } catch (Exception e) {
+            log.error("Error fetching interaction feed: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Get events by category (Handles Page response)
      */
     public List<EventDTO> getEventsByCategory(java.util.UUID categoryId, int limit) {
         try {
-            Map<String, Object> response = eventClient.get()
+            PageResponse<EventDTO> response = eventClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/api/events/category/{categoryId}")
                             .queryParam("page", 0)
                             .queryParam("size", limit)
                             .build(categoryId))
                     .retrieve()
-                    .body(new ParameterizedTypeReference<Map<String, Object>>() {});
-
-            if (response == null || !response.containsKey("content")) {
-                return Collections.emptyList();
-            }
-
-            List<?> content = (List<?>) response.get("content");
+                    .body(new ParameterizedTypeReference<PageResponse<EventDTO>>() {});
 
-            return content.stream()
-                    .map(item -> objectMapper.convertValue(item, EventDTO.class))
-                    .collect(Collectors.toList());
+            return response != null ? response.getContent() : Collections.emptyList();
 
         } catch (Exception e) {
             log.error("Error fetching events by category {}: {}", categoryId, e.getMessage());
             return Collections.emptyList();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.event.service;
+
+/**
+ * A user's interests as a bitset over {@link CategoryDictionary} ids, with the similarity of every
+ * other category to the closest interest. Built once per request; each event then scores in O(1).
+ */
+public final class InterestProfile {
+    static final InterestProfile EMPTY = new InterestProfile(new long[0], new float[0]);
+
+    private final long[] bits;
+    private final float[] related;
+
+    InterestProfile(long[] bits, float[] related) {
+        this.bits = bits;
+        this.related = related;
+    }
+
+    public boolean isEmpty() {
+        return bits.length == 0;
+    }
+
+    public boolean contains(int category) {
+        int word = category >>> 6;
+        return category >= 0 && word < bits.length && (bits[word] & (1L << category)) != 0;
+    }
+
+    /**
+     * 1.0 for an interest category, its configured similarity to the closest interest otherwise
+     */
+    public double score(int category) {
+        if (contains(category)) return 1.0;
+        return category >= 0 && category < related.length ? related[category] : 0.0;
+    }
+}
@@ -0,0 +1,97 @@
+package com.event.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * In-process near cache (L1) in front of the Redis recommendation cache (L2).
+ *
+ * Entries are bounded by the total number of cached recommendations and expire after a short TTL.
+ * Invalidations are applied locally and broadcast over Redis pub/sub so every other instance drops
+ * the same keys from its own L1.
+ */
+@Slf4j
+@Component
+public class LocalRecommendationCache implements MessageListener {
+    private static final String SEPARATOR = "\n";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<String, CachedRecommendations> cache;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public LocalRecommendationCache(
+            StringRedisTemplate stringRedisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${recommendation.cache.local.ttl-seconds:60}") long ttlSeconds,
+            @Value("${recommendation.cache.local.max-recommendations:200000}") long maxRecommendations,
+            @Value("${recommendation.cache.local.invalidation-channel:recommendations:invalidate}") String channel
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.channel = channel;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumWeight(maxRecommendations)
+                .weigher((String key, CachedRecommendations value) -> Math.max(1, value.getRecommendations().size()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "recommendations-l1");
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    public CachedRecommendations get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, CachedRecommendations cached) {
+        cache.put(key, cached);
+    }
+
+    /**
+     * Drop keys from this instance's L1 and ask every other instance to do the same
+     */
+    public void invalidate(Collection<String> keys) {
+        if (keys.isEmpty()) return;
+
+        cache.invalidateAll(keys);
+        try {
+            stringRedisTemplate.convertAndSend(channel, instanceId + SEPARATOR + String.join(SEPARATOR, keys));
+        } catch (Exception e) {
+            log.warn("Failed to broadcast L1 invalidation of {} keys: {}", keys.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR);
+        if (parts.length < 2 || instanceId.equals(parts[0])) return;
+
+        cache.invalidateAll(Arrays.asList(parts).subList(1, parts.length));
+        log.debug("Dropped {} L1 entries invalidated by instance {}", parts.length - 1, parts[0]);
+    }
+}
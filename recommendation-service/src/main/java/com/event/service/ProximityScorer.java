@@ -0,0 +1,35 @@
+package com.event.service;
+
+import com.event.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a distance into a 0-1 proximity score.
+ *
+ * Exponential decay (exp(-distance / scale)) by default, so nearer events always score higher and
+ * scores stop tying inside the old distance bands. The original five tiers are kept as an option.
+ */
+@Component
+public class ProximityScorer {
+    private final boolean tiered;
+    private final double scaleKm;
+
+    public ProximityScorer(
+            @Value("${recommendation.geo.decay:exponential}") String decay,
+            @Value("${recommendation.geo.scale-km:10}") double scaleKm
+    ) {
+        this.tiered = "tiers".equalsIgnoreCase(decay);
+        this.scaleKm = scaleKm;
+    }
+
+    /**
+     * Score for a distance in km; 0 for unknown distances (Double.MAX_VALUE)
+     */
+    public double score(double distanceKm) {
+        if (distanceKm < 0 || distanceKm == Double.MAX_VALUE) {
+            return 0.0;
+        }
+        return tiered ? GeoUtils.calculateGeoScore(distanceKm) : Math.exp(-distanceKm / scaleKm);
+    }
+}
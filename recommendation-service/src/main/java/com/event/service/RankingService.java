@@ -0,0 +1,397 @@
+package com.event.service;
+
+import com.event.dto.EventDTO;
+import com.event.dto.EventRecommendationResponse;
+import com.event.dto.Location;
+import com.event.util.TopK;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Materializes the rankings that are the same for every user: global trending and trending per
+ * region (similar events live in {@link SimilarEventsIndex}). Rankings are rebuilt from the event
+ * index on a fixed delay and served from memory, hydrated with the current event fields on read.
+ *
+ * Trending uses interaction momentum: each rebuild adds the weighted growth of an event's
+ * interaction counters to a score that halves every half-life, so recent activity counts more
+ * than an event's all-time totals.
+ *
+ * Momentum is kept in a Redis hash shared by all instances, so it survives restarts (a restarted
+ * instance does not mistake every event's all-time total for a fresh burst) and every instance
+ * ranks from the same state. Per interval one instance, holding a short lock, folds in counter
+ * growth and writes back the events that changed; the others only read. Without Redis each
+ * instance falls back to its own in-memory momentum.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class RankingService {
+    private static final List<String> TRENDING_REASONS = Collections.singletonList("Trending now");
+    private static final List<String> TRENDING_NEARBY_REASONS = Collections.singletonList("Trending near you");
+
+    // Interaction weights for momentum: stronger intent counts more
+    private static final double VIEW_WEIGHT = 1.0;
+    private static final double SAVE_WEIGHT = 3.0;
+    private static final double SHARE_WEIGHT = 4.0;
+    private static final double RSVP_WEIGHT = 5.0;
+    private static final double BUY_WEIGHT = 6.0;
+
+    private static final String MOMENTUM_KEY = "ranking:momentum";
+    private static final String MOMENTUM_LOCK = "ranking:momentum:lock";
+
+    private final EventIndexService eventIndex;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${recommendation.ranking.trending-size:50}")
+    private int trendingSize;
+
+    @Value("${recommendation.ranking.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${recommendation.ranking.region-cell-size-deg:0.5}")
+    private double regionCellSizeDeg;
+
+    @Value("${recommendation.ranking.interval-ms:60000}")
+    private long intervalMs;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // Last momentum this instance ranked from, used when Redis is unavailable
+    private volatile Map<UUID, Momentum> momentum = new ConcurrentHashMap<>();
+
+    private volatile Ranking trending;
+    private volatile Map<Long, Ranking> regionalTrending = Map.of();
+
+    /**
+     * Whether rankings have been built at least once
+     */
+    public boolean isReady() {
+        return trending != null;
+    }
+
+    public List<EventRecommendationResponse> getTrending(int limit) {
+        Ranking ranking = trending;
+        return ranking != null ? ranking.toResponses(eventIndex, limit, TRENDING_REASONS) : Collections.emptyList();
+    }
+
+    /**
+     * Trending events in the region around a point (the surrounding 3x3 region cells), falling back
+     * to global trending when the region has no ranked events
+     */
+    public List<EventRecommendationResponse> getTrendingNear(double latitude, double longitude, int limit) {
+        int latIdx = regionIndex(latitude);
+        int lonIdx = regionIndex(longitude);
+        Map<Long, Ranking> regions = regionalTrending;
+
+        List<UUID> ids = new ArrayList<>();
+        List<Float> scores = new ArrayList<>();
+        for (int dLat = -1; dLat <= 1; dLat++) {
+            for (int dLon = -1; dLon <= 1; dLon++) {
+                Ranking region = regions.get(cellKey(latIdx + dLat, lonIdx + dLon));
+                if (region == null) continue;
+                for (int i = 0; i < region.ids.length; i++) {
+                    ids.add(region.ids[i]);
+                    scores.add(region.scores[i]);
+                }
+            }
+        }
+
+        if (ids.isEmpty()) {
+            return getTrending(limit);
+        }
+
+        double[] merged = new double[scores.size()];
+        for (int i = 0; i < merged.length; i++) merged[i] = scores.get(i);
+
+        int[] top = TopK.select(merged, merged.length, limit);
+        UUID[] topIds = new UUID[top.length];
+        float[] topScores = new float[top.length];
+        for (int pos = 0; pos < top.length; pos++) {
+            topIds[pos] = ids.get(top[pos]);
+            topScores[pos] = (float) merged[top[pos]];
+        }
+        return new Ranking(topIds, topScores, null).toResponses(eventIndex, limit, TRENDING_NEARBY_REASONS);
+    }
+
+    @Scheduled(
+            initialDelayString = "${recommendation.ranking.initial-delay-ms:5000}",
+            fixedDelayString = "${recommendation.ranking.interval-ms:60000}"
+    )
+    public void rebuild() {
+        if (!eventIndex.isReady()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<EventDTO> events = eventIndex.findAll();
+        LocalDateTime now = LocalDateTime.now();
+
+        double[] trendingScores = trendingScores(events, now, start);
+        trending = Ranking.of(events, trendingScores, null, trendingSize);
+        regionalTrending = buildRegionalTrending(events, trendingScores);
+
+        log.info("Rankings rebuilt for {} events in {} ms", events.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 0.7 * normalized momentum + 0.3 * recency, advancing momentum when this instance holds the lock
+     */
+    private double[] trendingScores(List<EventDTO> events, LocalDateTime now, long nowMillis) {
+        Map<UUID, Momentum> shared = loadMomentum();
+        Map<UUID, Momentum> current = shared != null ? shared : new HashMap<>(momentum);
+        boolean advance = shared == null || acquireMomentumLock();
+
+        double[] hotness = new double[events.size()];
+        double maxHotness = 0.0;
+
+        Set<UUID> live = new HashSet<>();
+        Map<UUID, Momentum> changed = new HashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            EventDTO event = events.get(i);
+            live.add(event.getId());
+
+            Momentum m = current.get(event.getId());
+            if (advance) {
+                double total = weightedInteractions(event);
+                Momentum next = m == null
+                        // First sighting: the whole history counts as one burst and decays from here
+                        ? new Momentum(total, total, nowMillis)
+                        : m.advance(total, nowMillis, halfLifeHours);
+                if (next != m) {
+                    changed.put(event.getId(), next);
+                    current.put(event.getId(), next);
+                    m = next;
+                }
+            }
+            hotness[i] = m != null ? m.valueAt(nowMillis, halfLifeHours) : 0.0;
+            maxHotness = Math.max(maxHotness, hotness[i]);
+        }
+
+        if (advance && shared != null) {
+            saveMomentum(changed, current.keySet().stream().filter(id -> !live.contains(id)).toList());
+        }
+        current.keySet().retainAll(live);
+        momentum = current;
+
+        double norm = Math.log1p(maxHotness);
+        double[] scores = new double[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            double popularity = norm > 0 ? Math.log1p(hotness[i]) / norm : 0.0;
+            scores[i] = (0.7 * popularity) + (0.3 * recencyTier(events.get(i), now));
+        }
+        return scores;
+    }
+
+    /**
+     * Shared momentum from Redis, or null if Redis is unavailable
+     */
+    private Map<UUID, Momentum> loadMomentum() {
+        try {
+            Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(MOMENTUM_KEY);
+            Map<UUID, Momentum> loaded = new HashMap<>(entries.size() * 2);
+            entries.forEach((id, value) -> {
+                Momentum m = Momentum.decode((String) value);
+                if (m != null) loaded.put(UUID.fromString((String) id), m);
+            });
+            return loaded;
+        } catch (Exception e) {
+            log.warn("Error loading trending momentum from Redis, using local state: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * One instance advances momentum per interval; the lock expires on its own before the next one
+     */
+    private boolean acquireMomentumLock() {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(MOMENTUM_LOCK, instanceId, Duration.ofMillis(Math.max(intervalMs / 2, 1000))));
+        } catch (Exception e) {
+            log.warn("Error acquiring trending momentum lock: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void saveMomentum(Map<UUID, Momentum> changed, List<UUID> removed) {
+        try {
+            if (!changed.isEmpty()) {
+                Map<String, String> encoded = new HashMap<>(changed.size() * 2);
+                changed.forEach((id, m) -> encoded.put(id.toString(), m.encode()));
+                stringRedisTemplate.opsForHash().putAll(MOMENTUM_KEY, encoded);
+            }
+            if (!removed.isEmpty()) {
+                stringRedisTemplate.opsForHash().delete(MOMENTUM_KEY, removed.stream().map(UUID::toString).toArray());
+            }
+        } catch (Exception e) {
+            log.warn("Error saving trending momentum to Redis: {}", e.getMessage());
+        }
+    }
+
+    private Map<Long, Ranking> buildRegionalTrending(List<EventDTO> events, double[] trendingScores) {
+        Map<Long, List<Integer>> members = new HashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            Location location = events.get(i).getLocation();
+            if (location == null || !location.isValid()) continue;
+            long key = cellKey(regionIndex(location.getLatitude()), regionIndex(location.getLongitude()));
+            members.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+
+        Map<Long, Ranking> regions = new HashMap<>(members.size() * 2);
+        members.forEach((key, positions) -> {
+            List<EventDTO> regionEvents = new ArrayList<>(positions.size());
+            double[] regionScores = new double[positions.size()];
+            for (int j = 0; j < positions.size(); j++) {
+                regionEvents.add(events.get(positions.get(j)));
+                regionScores[j] = trendingScores[positions.get(j)];
+            }
+            regions.put(key, Ranking.of(regionEvents, regionScores, null, trendingSize));
+        });
+        return regions;
+    }
+
+    private static double weightedInteractions(EventDTO event) {
+        return VIEW_WEIGHT * orZero(event.getViewCount())
+                + SAVE_WEIGHT * orZero(event.getSaveCount())
+                + SHARE_WEIGHT * orZero(event.getShareCount())
+                + RSVP_WEIGHT * orZero(event.getRsvpCount())
+                + BUY_WEIGHT * orZero(event.getBuyCount());
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    /**
+     * Popularity tier from all-time interaction totals
+     */
+    static double popularityTier(EventDTO event) {
+        long totalInteractions = event.getTotalInteractions();
+        if (totalInteractions >= 100) return 1.0;
+        if (totalInteractions >= 50) return 0.7;
+        if (totalInteractions >= 20) return 0.4;
+        if (totalInteractions >= 5) return 0.2;
+        return 0.1;
+    }
+
+    /**
+     * Recency tier: events starting sooner score higher
+     */
+    static double recencyTier(EventDTO event, LocalDateTime now) {
+        if (event.getStartTime() == null) return 0.0;
+        long daysUntil = ChronoUnit.DAYS.between(now, event.getStartTime());
+        if (daysUntil < 0) return 0.0;
+        if (daysUntil <= 3) return 1.0;
+        if (daysUntil <= 7) return 0.8;
+        if (daysUntil <= 14) return 0.5;
+        if (daysUntil <= 30) return 0.3;
+        return 0.1;
+    }
+
+    private int regionIndex(double degrees) {
+        return (int) Math.floor(degrees / regionCellSizeDeg);
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    /**
+     * Exponentially decayed interaction growth of one event. The score is as of updatedAtMillis and
+     * decays on read, so an event whose counters did not move needs no write.
+     */
+    private static final class Momentum {
+        final double score;
+        final double lastTotal;
+        final long updatedAtMillis;
+
+        Momentum(double score, double lastTotal, long updatedAtMillis) {
+            this.score = score;
+            this.lastTotal = lastTotal;
+            this.updatedAtMillis = updatedAtMillis;
+        }
+
+        double valueAt(long nowMillis, double halfLifeHours) {
+            double elapsedHours = Math.max(0, nowMillis - updatedAtMillis) / 3_600_000.0;
+            return score * Math.pow(0.5, elapsedHours / halfLifeHours);
+        }
+
+        /**
+         * This momentum with the counters' growth folded in, or this instance if the counters did not move
+         */
+        Momentum advance(double total, long nowMillis, double halfLifeHours) {
+            if (total == lastTotal) return this;
+            // Counters can go down (removed saves/RSVPs); only growth adds momentum
+            return new Momentum(valueAt(nowMillis, halfLifeHours) + Math.max(0.0, total - lastTotal), total, nowMillis);
+        }
+
+        String encode() {
+            return score + ":" + lastTotal + ":" + updatedAtMillis;
+        }
+
+        static Momentum decode(String value) {
+            if (value == null) return null;
+            String[] parts = value.split(":");
+            if (parts.length != 3) return null;
+            try {
+                return new Momentum(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]), Long.parseLong(parts[2]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A ranked list of event ids with scores (and optional distances), hydrated from the index on read
+     */
+    private static final class Ranking {
+        final UUID[] ids;
+        final float[] scores;
+        final float[] distances;
+
+        Ranking(UUID[] ids, float[] scores, float[] distances) {
+            this.ids = ids;
+            this.scores = scores;
+            this.distances = distances;
+        }
+
+        static Ranking of(List<EventDTO> events, double[] scores, double[] distances, int k) {
+            int[] top = TopK.select(scores, events.size(), k);
+            UUID[] ids = new UUID[top.length];
+            float[] topScores = new float[top.length];
+            float[] topDistances = distances != null ? new float[top.length] : null;
+            for (int pos = 0; pos < top.length; pos++) {
+                ids[pos] = events.get(top[pos]).getId();
+                topScores[pos] = (float) scores[top[pos]];
+                if (topDistances != null) topDistances[pos] = (float) distances[top[pos]];
+            }
+            return new Ranking(ids, topScores, topDistances);
+        }
+
+        List<EventRecommendationResponse> toResponses(EventIndexService eventIndex, int limit, List<String> reasons) {
+            List<EventRecommendationResponse> responses = new ArrayList<>(Math.min(limit, ids.length));
+            for (int i = 0; i < ids.length && responses.size() < limit; i++) {
+                Optional<EventDTO> event = eventIndex.get(ids[i]);
+                if (event.isEmpty()) continue;   // cancelled or started since the last rebuild
+
+                double distance = distances != null ? distances[i] : 0.0;
+                responses.add(EventRecommendationResponse.fromEvent(event.get())
+                        .score((double) scores[i])
+                        .distanceKm(distance > 0 ? distance : null)
+                        .reasons(reasons)
+                        .build());
+            }
+            return responses;
+        }
+    }
+}
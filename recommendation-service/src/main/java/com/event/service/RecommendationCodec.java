@@ -0,0 +1,19 @@
+package com.event.service;
+
+import com.event.dto.EventRecommendationResponse;
+
+import java.util.List;
+
+/**
+ * Encoding used for recommendation lists stored in Redis.
+ * Selected with recommendation.cache.codec (compact or smile).
+ */
+public interface RecommendationCodec {
+
+    byte[] encode(List<EventRecommendationResponse> recommendations);
+
+    /**
+     * @return The decoded list, or null if the entry cannot be used and should be treated as a miss
+     */
+    List<EventRecommendationResponse> decode(byte[] bytes);
+}
@@ -3,7 +3,9 @@ package com.event.service;
 import com.event.dto.*;
 import com.event.entity.RecommendationHistory;
 import com.event.repository.RecommendationHistoryRepository;
-import com.event.util.GeoUtils;
+import com.event.util.DistanceKernel;
+import com.event.util.TopK;
+import com.nimbusds.jwt.JWTParser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,19 +14,42 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.text.ParseException;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class RecommendationService {
+    // Shared lists are computed at their endpoint's maximum limit, see getRecommendationsByCategory
+    private static final int CATEGORY_LIST_SIZE = 50;
+    private static final int TRENDING_LIST_SIZE = 50;
+    private static final int SIMILAR_LIST_SIZE = 20;
+
     private final UserServiceClient userServiceClient;
     private final EventServiceClient eventServiceClient;
+    private final EventIndexService eventIndex;
     private final ScoringService scoringService;
     private final CacheService cacheService;
     private final RecommendationHistoryRepository historyRepository;
+    private final Executor fanOutExecutor;
+    private final SingleFlight singleFlight;
+    private final RankingService rankingService;
+    private final SimilarEventsIndex similarEventsIndex;
+    private final Executor cacheRefreshExecutor;
+    private final ProximityScorer proximityScorer;
+
+    // Keys with a background refresh queued or running on this instance
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
 
     // ✅ FIX 1: Self-injection allows calling @Async methods within the same class
     @Autowired
@@ -41,58 +66,87 @@ public class RecommendationService {
     @Value("${recommendation.cold-start.default-radius-km:20.0}")
     private double defaultRadiusKm;
 
+    @Value("${recommendation.fan-out.preferences-timeout-ms:2000}")
+    private long preferencesTimeoutMs;
+
+    @Value("${recommendation.fan-out.interactions-timeout-ms:2000}")
+    private long interactionsTimeoutMs;
+
+    @Value("${recommendation.cache.refresh.min-token-validity-seconds:30}")
+    private long minTokenValiditySeconds;
+
     public List<EventRecommendationResponse> getPersonalizedRecommendations(
             UUID userId,
             RecommendationRequest request,
             String token
     ) {
-        // 1. Check Cache
-        if (!Boolean.TRUE.equals(request.getRefresh())) {
-            List<EventRecommendationResponse> cached =
-                    cacheService.getUserRecommendations(userId, request.getPage());
-            if (cached != null && !cached.isEmpty()) {
-                log.info("Returning cached recommendations for user {}", userId);
-                return cached;
-            }
+        // 1. Refresh bypasses the cache
+        if (Boolean.TRUE.equals(request.getRefresh())) {
+            return computePersonalizedRecommendations(userId, request, token, true);
         }
 
-        // 2. Fetch User Preferences
-        UserPreferencesDTO user = userServiceClient.getUserPreferences(userId, token);
-        // Note: Client now handles errors and returns defaults, but we check for null safety
-        if (user == null) {
-            return Collections.emptyList();
+        // 2. Check Cache (stale entries are served and refreshed in the background),
+        // coalescing concurrent misses (e.g. a double-loaded feed) into one computation.
+        // Cache and flight keys carry the page, size and filters, only identical requests share a result
+        String variant = request.cacheVariant();
+        String flightKey = "user:" + userId + ":" + variant;
+        List<EventRecommendationResponse> cached = serveCached(
+                cacheService.getUserRecommendations(userId, variant),
+                flightKey,
+                token,
+                () -> computePersonalizedRecommendations(userId, request, token, false)
+        );
+        if (cached != null) {
+            log.info("Returning cached recommendations for user {}", userId);
+            return cached;
         }
 
-        // 3. Fetch Interactions
-        List<InteractionDTO> interactions = eventServiceClient.getUserInteractions(userId, token);
-        user.setHasInteractions(interactions != null && !interactions.isEmpty());
+        return singleFlight.execute(
+                flightKey,
+                () -> listOf(cacheService.getUserRecommendations(userId, variant)),
+                () -> computePersonalizedRecommendations(userId, request, token, true)
+        );
+    }
+
+    private List<EventRecommendationResponse> computePersonalizedRecommendations(
+            UUID userId,
+            RecommendationRequest request,
+            String token,
+            boolean recordHistory
+    ) {
+        // 1. Fetch User Preferences and Interactions concurrently
+        CompletableFuture<UserPreferencesDTO> userFuture = fetchPreferencesAsync(userId, token);
+        CompletableFuture<List<InteractionDTO>> interactionsFuture = fetchInteractionsAsync(userId, token);
+
+        // 2. Fetch Candidate Events (only needs the user's location, interactions may still be in flight)
+        UserPreferencesDTO user = userFuture.join();
+        List<EventDTO> events = fetchRelevantEvents(user, request);
+
+        List<InteractionDTO> interactions = interactionsFuture.join();
+        user.setHasInteractions(!interactions.isEmpty());
 
         log.info("User {} cold start: {}", userId, user.isColdStart());
 
-        // 4. Fetch Candidate Events
-        List<EventDTO> events = fetchRelevantEvents(user, request);
+        // 3. Check Candidate Events
         if (events.isEmpty()) {
             log.info("No events found for user {}", userId);
             return Collections.emptyList();
         }
 
-        // 5. Score Events
-        List<EventRecommendationResponse> recommendations;
-        if (user.isColdStart()) {
-            recommendations = scoreEventsColdStart(events, user, request);
-        } else {
-            recommendations = scoreEvents(events, user, interactions, request);
-        }
+        // 4. Score Events
+        ScoreBatch scores = scoreEvents(events, user, interactions, request.getMaxDistanceKm());
 
-        // 6. Pagination
-        recommendations = applyPagination(recommendations, request);
+        // 5. Rank + Pagination (responses are only built for the returned page)
+        List<EventRecommendationResponse> recommendations = buildPage(events, user, scores, request);
 
-        // 7. Caching
-        cacheService.cacheUserRecommendations(userId, request.getPage(), recommendations);
+        // 6. Caching
+        cacheService.cacheUserRecommendations(userId, request.cacheVariant(), recommendations);
 
-        // 8. Async History Saving
+        // 7. Async History Saving (skipped for background refreshes, nobody was shown these yet)
         // ✅ FIX: Call via 'self' to ensure the @Async proxy triggers
-        self.saveToHistoryAsync(userId, recommendations);
+        if (recordHistory) {
+            self.saveToHistoryAsync(userId, recommendations);
+        }
 
         log.info("Returning {} recommendations for user {}", recommendations.size(), userId);
         return recommendations;
@@ -101,29 +155,56 @@ public class RecommendationService {
     public List<EventRecommendationResponse> getTrendingEvents(int limit) {
         log.info("Getting trending events");
 
-        // Check cache
-        List<EventRecommendationResponse> cached = cacheService.getTrendingEvents();
-        if (cached != null && !cached.isEmpty()) {
-            return cached.stream().limit(limit).collect(Collectors.toList());
+        // Precomputed rankings are served straight from memory
+        if (rankingService.isReady()) {
+            return rankingService.getTrending(limit);
         }
 
+        // Check cache; on a miss exactly one caller (across instances) recomputes
+        List<EventRecommendationResponse> trending = serveCached(
+                cacheService.getTrendingEvents(), "trending", null, () -> computeTrendingEvents(TRENDING_LIST_SIZE));
+        if (trending == null) {
+            trending = singleFlight.execute(
+                    "trending",
+                    () -> listOf(cacheService.getTrendingEvents()),
+                    () -> computeTrendingEvents(TRENDING_LIST_SIZE)
+            );
+        }
+        return trending.stream().limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Trending events around a location, falling back to global trending until rankings are built
+     */
+    public List<EventRecommendationResponse> getTrendingEventsNear(double latitude, double longitude, int limit) {
+        log.info("Getting trending events near {}, {}", latitude, longitude);
+
+        if (rankingService.isReady()) {
+            return rankingService.getTrendingNear(latitude, longitude, limit);
+        }
+        return getTrendingEvents(limit);
+    }
+
+    private List<EventRecommendationResponse> computeTrendingEvents(int limit) {
         // Fetch upcoming events (fetch more to ensure we have enough after scoring)
-        List<EventDTO> events = eventServiceClient.getUpcomingEvents(100);
+        List<EventDTO> events = fetchUpcomingEvents(100);
         if (events.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<EventRecommendationResponse> trending = events.stream()
-                .map(event -> {
-                    double popularityScore = calculatePopularityOnly(event);
-                    double recencyScore = calculateRecencyOnly(event);
-                    double score = (0.7 * popularityScore) + (0.3 * recencyScore);
+        LocalDateTime now = LocalDateTime.now();
+        double[] scores = new double[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            EventDTO event = events.get(i);
+            double popularityScore = RankingService.popularityTier(event);
+            double recencyScore = RankingService.recencyTier(event, now);
+            scores[i] = (0.7 * popularityScore) + (0.3 * recencyScore);
+        }
 
-                    return mapToResponse(event, score, 0.0, Collections.singletonList("Trending now"));
-                })
-                .sorted(Comparator.comparingDouble(EventRecommendationResponse::getScore).reversed())
-                .limit(limit)
-                .collect(Collectors.toList());
+        List<EventRecommendationResponse> trending = new ArrayList<>();
+        for (int i : TopK.select(scores, events.size(), limit)) {
+            trending.add(mapToResponse(events.get(i), scores[i], 0.0, Collections.singletonList("Trending now")));
+        }
 
         cacheService.cacheTrendingEvents(trending);
         return trending;
@@ -132,12 +213,29 @@ public class RecommendationService {
     public List<EventRecommendationResponse> getSimilarEvents(UUID eventId, int limit) {
         log.info("Getting similar events for event: {}", eventId);
 
-        List<EventRecommendationResponse> cached = cacheService.getSimilarEvents(eventId);
-        if (cached != null && !cached.isEmpty()) {
-            return cached.stream().limit(limit).collect(Collectors.toList());
+        // Precomputed neighbour lists are served straight from memory
+        if (similarEventsIndex.isReady()) {
+            List<EventRecommendationResponse> precomputed = similarEventsIndex.getSimilar(eventId, limit);
+            if (precomputed != null) {
+                return precomputed;
+            }
+        }
+
+        String flightKey = "similar:" + eventId;
+        List<EventRecommendationResponse> similar = serveCached(
+                cacheService.getSimilarEvents(eventId), flightKey, null, () -> computeSimilarEvents(eventId, SIMILAR_LIST_SIZE));
+        if (similar == null) {
+            similar = singleFlight.execute(
+                    flightKey,
+                    () -> listOf(cacheService.getSimilarEvents(eventId)),
+                    () -> computeSimilarEvents(eventId, SIMILAR_LIST_SIZE)
+            );
         }
+        return similar.stream().limit(limit).collect(Collectors.toList());
+    }
 
-        List<EventDTO> events = eventServiceClient.getUpcomingEvents(100);
+    private List<EventRecommendationResponse> computeSimilarEvents(UUID eventId, int limit) {
+        List<EventDTO> events = fetchUpcomingEvents(100);
 
         Optional<EventDTO> targetEvent = events.stream()
                 .filter(e -> e.getId().equals(eventId))
@@ -149,27 +247,35 @@ public class RecommendationService {
         }
 
         EventDTO target = targetEvent.get();
+        DistanceKernel kernel = DistanceKernel.from(target.getLocation());
+
+        double[] scores = new double[events.size()];
+        double[] distances = new double[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            EventDTO event = events.get(i);
+            // ✅ FIX: Use getCategoryName() to avoid Object vs String crash
+            if (event.getId().equals(eventId) || event.getCategoryName() == null ||
+                    !event.getCategoryName().equalsIgnoreCase(target.getCategoryName())) {
+                scores[i] = Double.NEGATIVE_INFINITY;
+                continue;
+            }
 
-        List<EventRecommendationResponse> similar = events.stream()
-                .filter(e -> !e.getId().equals(eventId))
-                // ✅ FIX: Use getCategoryName() to avoid Object vs String crash
-                .filter(e -> e.getCategoryName() != null &&
-                        e.getCategoryName().equalsIgnoreCase(target.getCategoryName()))
-                .map(event -> {
-                    double distance = 0.0;
-                    if (target.getLocation() != null && event.getLocation() != null) {
-                        distance = GeoUtils.calculateDistance(target.getLocation(), event.getLocation());
-                    }
+            double distance = 0.0;
+            if (kernel != null && event.getLocation() != null) {
+                distance = kernel.distanceKm(event.getLocation());
+            }
 
-                    double geoScore = GeoUtils.calculateGeoScore(distance);
-                    double popularityScore = calculatePopularityOnly(event);
-                    double score = (0.6 * geoScore) + (0.4 * popularityScore);
+            double geoScore = proximityScorer.score(distance);
+            double popularityScore = RankingService.popularityTier(event);
+            scores[i] = (0.6 * geoScore) + (0.4 * popularityScore);
+            distances[i] = distance;
+        }
 
-                    return mapToResponse(event, score, distance, Collections.singletonList("Similar to this event"));
-                })
-                .sorted(Comparator.comparingDouble(EventRecommendationResponse::getScore).reversed())
-                .limit(limit)
-                .collect(Collectors.toList());
+        List<EventRecommendationResponse> similar = new ArrayList<>();
+        for (int i : TopK.select(scores, events.size(), limit)) {
+            similar.add(mapToResponse(events.get(i), scores[i], distances[i],
+                    Collections.singletonList("Similar to this event")));
+        }
 
         cacheService.cacheSimilarEvents(eventId, similar);
         return similar;
@@ -180,54 +286,206 @@ public class RecommendationService {
 
         log.info("Getting {} recommendations for user {} in category: {}", limit, userId, category);
 
-        List<EventRecommendationResponse> cached = cacheService.getCategoryRecommendations(userId, category);
-        if (cached != null && !cached.isEmpty()) {
-            return cached.stream().limit(limit).collect(Collectors.toList());
+        // The list is always computed and cached at the endpoint's maximum size and truncated per caller,
+        // so callers with different limits can share one result
+        String flightKey = "category:" + userId + ":" + category;
+        List<EventRecommendationResponse> recommendations = serveCached(
+                cacheService.getCategoryRecommendations(userId, category),
+                flightKey,
+                token,
+                () -> computeRecommendationsByCategory(userId, category, CATEGORY_LIST_SIZE, token)
+        );
+        if (recommendations == null) {
+            recommendations = singleFlight.execute(
+                    flightKey,
+                    () -> listOf(cacheService.getCategoryRecommendations(userId, category)),
+                    () -> computeRecommendationsByCategory(userId, category, CATEGORY_LIST_SIZE, token)
+            );
         }
+        return recommendations.stream().limit(limit).collect(Collectors.toList());
+    }
 
-        UserPreferencesDTO user = userServiceClient.getUserPreferences(userId, token);
-        List<InteractionDTO> interactions = eventServiceClient.getUserInteractions(userId, token);
-
-        List<EventDTO> events = eventServiceClient.getUpcomingEvents(100);
+    private List<EventRecommendationResponse> computeRecommendationsByCategory(
+            UUID userId, String category, int limit, String token) {
+        CompletableFuture<UserPreferencesDTO> userFuture = fetchPreferencesAsync(userId, token);
+        CompletableFuture<List<InteractionDTO>> interactionsFuture = fetchInteractionsAsync(userId, token);
 
-        // ✅ FIX: Use getCategoryName() here too
-        events = events.stream()
-                .filter(e -> category.equalsIgnoreCase(e.getCategoryName()))
-                .collect(Collectors.toList());
+        List<EventDTO> events;
+        if (eventIndex.isReady()) {
+            events = eventIndex.findByCategory(category);
+        } else {
+            // ✅ FIX: Use getCategoryName() here too
+            events = eventServiceClient.getUpcomingEvents(100).stream()
+                    .filter(e -> category.equalsIgnoreCase(e.getCategoryName()))
+                    .collect(Collectors.toList());
+        }
 
         if (events.isEmpty()) return Collections.emptyList();
 
-        List<EventRecommendationResponse> recommendations;
-        if (user.isColdStart()) {
-            recommendations = scoreEventsColdStart(events, user, new RecommendationRequest());
-        } else {
-            recommendations = scoreEvents(events, user, interactions, new RecommendationRequest());
-        }
+        UserPreferencesDTO user = userFuture.join();
+        List<InteractionDTO> interactions = interactionsFuture.join();
+        user.setHasInteractions(!interactions.isEmpty());
 
-        recommendations = recommendations.stream().limit(limit).collect(Collectors.toList());
+        ScoreBatch scores = scoreEvents(events, user, interactions, null);
+        List<EventRecommendationResponse> recommendations = buildRange(events, user, scores, 0, limit);
         cacheService.cacheCategoryRecommendations(userId, category, recommendations);
 
         return recommendations;
     }
 
+    /**
+     * Cached list to serve, or null on a miss. Entries past their soft TTL are still served,
+     * and recomputed on the refresh pool unless a refresh for the same key is already running.
+     *
+     * @param token The request's bearer token the refresh calls downstream services with, null if it needs none
+     */
+    private List<EventRecommendationResponse> serveCached(
+            CachedRecommendations cached, String flightKey, String token, Runnable refresh) {
+        List<EventRecommendationResponse> recommendations = listOf(cached);
+        if (recommendations != null && cached.isStale()) {
+            refreshInBackground(flightKey, token, refresh);
+        }
+        return recommendations;
+    }
+
+    /**
+     * The refresh borrows the triggering request's token, which may expire before a queued refresh runs.
+     * A refresh whose token is about to expire is skipped (checked on submit and again on start): the
+     * stale entry keeps being served until a request with a fresh token triggers the refresh.
+     */
+    private void refreshInBackground(String flightKey, String token, Runnable refresh) {
+        if (!hasValidity(token) || !refreshing.add(flightKey)) {
+            return;
+        }
+
+        try {
+            cacheRefreshExecutor.execute(() -> {
+                try {
+                    if (!hasValidity(token)) {
+                        log.debug("Skipping refresh of {}, the request's token expires too soon", flightKey);
+                    } else if (singleFlight.tryExecute(flightKey, refresh)) {
+                        log.debug("Refreshed stale cache entry {}", flightKey);
+                    }
+                } catch (Exception e) {
+                    log.warn("Background refresh of {} failed: {}", flightKey, e.getMessage());
+                } finally {
+                    refreshing.remove(flightKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Refresh pool is saturated: keep serving the stale entry, a later request retries
+            refreshing.remove(flightKey);
+            log.debug("Skipping refresh of {}, refresh pool is saturated", flightKey);
+        }
+    }
+
+    /**
+     * Whether a bearer token (if any) stays valid for at least min-token-validity-seconds. The token was
+     * verified when the request was authenticated, only its expiry is read here.
+     */
+    private boolean hasValidity(String token) {
+        if (token == null) return true;
+        try {
+            Date expiresAt = JWTParser.parse(token).getJWTClaimsSet().getExpirationTime();
+            return expiresAt != null
+                    && expiresAt.toInstant().isAfter(Instant.now().plusSeconds(minTokenValiditySeconds));
+        } catch (ParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Empty cached lists are treated as misses
+     */
+    private static List<EventRecommendationResponse> listOf(CachedRecommendations cached) {
+        return cached != null && !cached.isEmpty() ? cached.getRecommendations() : null;
+    }
+
     private List<EventDTO> fetchRelevantEvents(UserPreferencesDTO user, RecommendationRequest request) {
         List<EventDTO> events;
 
         if (user.hasLocation()) {
             double radius = request.getMaxDistanceKm() != null ?
                     request.getMaxDistanceKm() : defaultRadiusKm;
-            events = eventServiceClient.getNearbyEvents(
-                    user.getLocation().getLatitude(),
-                    user.getLocation().getLongitude(),
-                    radius
-            );
+            if (eventIndex.isReady()) {
+                events = eventIndex.findNearby(
+                        user.getLocation().getLatitude(),
+                        user.getLocation().getLongitude(),
+                        radius
+                );
+            } else {
+                events = eventServiceClient.getNearbyEvents(
+                        user.getLocation().getLatitude(),
+                        user.getLocation().getLongitude(),
+                        radius
+                );
+            }
         } else {
-            events = eventServiceClient.getUpcomingEvents(100);
+            events = fetchUpcomingEvents(100);
         }
 
         return applyFilters(events, request);
     }
 
+    /**
+     * Fetch preferences on the fan-out pool, falling back to default preferences on error or deadline
+     */
+    private CompletableFuture<UserPreferencesDTO> fetchPreferencesAsync(UUID userId, String token) {
+        return withDeadline(
+                supplyOnFanOut(() -> userServiceClient.getUserPreferences(userId, token)),
+                preferencesTimeoutMs,
+                () -> userServiceClient.getDefaultPreferences(userId),
+                "user preferences"
+        );
+    }
+
+    /**
+     * Fetch interactions on the fan-out pool, falling back to no interactions (cold start) on error or deadline
+     */
+    private CompletableFuture<List<InteractionDTO>> fetchInteractionsAsync(UUID userId, String token) {
+        return withDeadline(
+                supplyOnFanOut(() -> eventServiceClient.getUserInteractions(userId, token)),
+                interactionsTimeoutMs,
+                Collections::emptyList,
+                "user interactions"
+        );
+    }
+
+    /**
+     * Run a call on the fan-out pool. A saturated pool rejects it, which fails the future and so takes
+     * the caller's fallback, instead of running the call on the request thread past its deadline.
+     */
+    private <T> CompletableFuture<T> supplyOnFanOut(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, fanOutExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> withDeadline(
+            CompletableFuture<T> call, long timeoutMs, Supplier<T> fallback, String name) {
+        return call
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((result, ex) -> {
+                    if (ex != null || result == null) {
+                        log.warn("Using fallback for {}: {}", name, ex != null ? ex.toString() : "empty response");
+                        return fallback.get();
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Upcoming events from the local index, falling back to event-service until the index has loaded
+     */
+    private List<EventDTO> fetchUpcomingEvents(int limit) {
+        if (eventIndex.isReady()) {
+            return eventIndex.findUpcoming(limit);
+        }
+        return eventServiceClient.getUpcomingEvents(limit);
+    }
+
     private List<EventDTO> applyFilters(List<EventDTO> events, RecommendationRequest request) {
         return events.stream()
                 .filter(event -> {
@@ -256,120 +514,76 @@ public class RecommendationService {
                 .collect(Collectors.toList());
     }
 
-    private List<EventRecommendationResponse> scoreEvents(
-            List<EventDTO> events, UserPreferencesDTO user, List<InteractionDTO> interactions, RecommendationRequest request) {
-        return events.stream()
-                .map(event -> {
-                    double distance = 0.0;
-                    if (user.hasLocation() && event.getLocation() != null) {
-                        distance = GeoUtils.calculateDistance(user.getLocation(), event.getLocation());
-                    }
-
-                    if (request.getMaxDistanceKm() != null && distance > request.getMaxDistanceKm()) {
-                        return null;
-                    }
-
-                    Map<String, Double> scores = scoringService.calculateScore(event, user, interactions, distance);
-                    List<String> reasons = scoringService.generateReasons(event, user, scores, distance);
-
-                    return mapToResponse(event, scores, distance, reasons);
-                })
-                .filter(Objects::nonNull)
-                .sorted(Comparator.comparingDouble(EventRecommendationResponse::getScore).reversed())
-                .collect(Collectors.toList());
-    }
-
-    private List<EventRecommendationResponse> scoreEventsColdStart(
-            List<EventDTO> events, UserPreferencesDTO user, RecommendationRequest request) {
-        return events.stream()
-                .map(event -> {
-                    double distance = 0.0;
-                    if (user.hasLocation() && event.getLocation() != null) {
-                        distance = GeoUtils.calculateDistance(user.getLocation(), event.getLocation());
-                    }
-
-                    if (request.getMaxDistanceKm() != null && distance > request.getMaxDistanceKm()) {
-                        return null;
-                    }
-
-                    Map<String, Double> scores = scoringService.calculateColdStartScore(event, user, distance);
-
-                    List<String> reasons = new ArrayList<>();
-                    reasons.add("Popular in your area");
-                    if (distance < 10) reasons.add(String.format("Only %.1f km away", distance));
-                    if (event.isFree()) reasons.add("Free event");
-
-                    return mapToResponse(event, scores, distance, reasons);
-                })
-                .filter(Objects::nonNull)
-                .sorted(Comparator.comparingDouble(EventRecommendationResponse::getScore).reversed())
-                .collect(Collectors.toList());
+    private ScoreBatch scoreEvents(
+            List<EventDTO> events, UserPreferencesDTO user, List<InteractionDTO> interactions, Double maxDistanceKm) {
+        if (user.isColdStart()) {
+            return scoringService.calculateColdStartScores(events, user, maxDistanceKm);
+        }
+        return scoringService.calculateScores(events, user, interactions, maxDistanceKm);
     }
 
-    private List<EventRecommendationResponse> applyPagination(
-            List<EventRecommendationResponse> recommendations, RecommendationRequest request) {
+    private List<EventRecommendationResponse> buildPage(
+            List<EventDTO> events, UserPreferencesDTO user, ScoreBatch scores, RecommendationRequest request) {
         int page = request.getPage() != null ? request.getPage() : 0;
         int size = request.getSize() != null ? request.getSize() : defaultPageSize;
         size = Math.min(size, maxPageSize);
 
-        int fromIndex = page * size;
-        if (fromIndex >= recommendations.size()) {
+        // In long: a large page number would overflow int and select a negative range
+        long from = (long) page * size;
+        if (from >= scores.size()) {
+            return Collections.emptyList();
+        }
+        return buildRange(events, user, scores, (int) from, size);
+    }
+
+    /**
+     * Rank scored candidates and build responses for positions [from, from + count) only.
+     * Only the top (from + count) candidates are selected, so deeper pages extend the selection lazily.
+     */
+    private List<EventRecommendationResponse> buildRange(
+            List<EventDTO> events, UserPreferencesDTO user, ScoreBatch scores, int from, int count) {
+        int k = (int) Math.min((long) from + count, scores.size());
+        int[] top = TopK.select(scores.finalScores(), scores.size(), k);
+        if (from >= top.length) {
             return Collections.emptyList();
         }
 
-        int toIndex = Math.min(fromIndex + size, recommendations.size());
-        return recommendations.subList(fromIndex, toIndex);
+        List<EventRecommendationResponse> result = new ArrayList<>(top.length - from);
+        for (int pos = from; pos < top.length; pos++) {
+            int i = top[pos];
+            EventDTO event = events.get(i);
+            result.add(mapToResponse(event, scores, i, buildReasons(event, user, scores, i)));
+        }
+        return result;
+    }
+
+    private List<String> buildReasons(EventDTO event, UserPreferencesDTO user, ScoreBatch scores, int i) {
+        if (!scores.isColdStart()) {
+            return scoringService.generateReasons(event, user, scores, i);
+        }
+
+        double distance = scores.distance(i);
+        List<String> reasons = new ArrayList<>();
+        reasons.add("Popular in your area");
+        if (distance < 10) reasons.add(String.format("Only %.1f km away", distance));
+        if (event.isFree()) reasons.add("Free event");
+        return reasons;
     }
 
     private EventRecommendationResponse mapToResponse(
-            EventDTO event, Map<String, Double> scores, double distance, List<String> reasons) {
-        return EventRecommendationResponse.builder()
-                .eventId(event.getId())
-                .title(event.getTitle())
-                .description(event.getDescription())
-                .category(event.getCategoryName()) // ✅ FIX: Use helper
-                .venue(event.getVenue())
-                .address(event.getAddress())
-                .location(event.getLocation())
-                .startTime(event.getStartTime())
-                .endTime(event.getEndTime())
-                .ticketPrice(event.getTicketPrice())
-                .ticketLimit(event.getTicketLimit())
-                .ticketsSold(event.getTicketsSold())
-                .hasAvailableTickets(event.hasAvailableTickets())
-                .imageUrl(event.getImageUrl())
-                .verified(event.getVerified())
-                .score(scores.get("finalScore"))
+            EventDTO event, ScoreBatch scores, int i, List<String> reasons) {
+        double distance = scores.distance(i);
+        return EventRecommendationResponse.fromEvent(event)
+                .score(scores.finalScore(i))
                 .distanceKm(distance > 0 ? distance : null)
                 .reasons(reasons)
-                .scoreBreakdown(EventRecommendationResponse.ScoreBreakdown.builder()
-                        .geoScore(scores.get("geoScore"))
-                        .interestScore(scores.get("interestScore"))
-                        .interactionScore(scores.get("interactionScore"))
-                        .popularityScore(scores.get("popularityScore"))
-                        .recencyScore(scores.get("recencyScore"))
-                        .build())
+                .scoreBreakdown(scores.breakdown(i))
                 .build();
     }
 
     private EventRecommendationResponse mapToResponse(
             EventDTO event, double score, double distance, List<String> reasons) {
-        return EventRecommendationResponse.builder()
-                .eventId(event.getId())
-                .title(event.getTitle())
-                .description(event.getDescription())
-                .category(event.getCategoryName()) // ✅ FIX: Use helper
-                .venue(event.getVenue())
-                .address(event.getAddress())
-                .location(event.getLocation())
-                .startTime(event.getStartTime())
-                .endTime(event.getEndTime())
-                .ticketPrice(event.getTicketPrice())
-                .ticketLimit(event.getTicketLimit())
-                .ticketsSold(event.getTicketsSold())
-                .hasAvailableTickets(event.hasAvailableTickets())
-                .imageUrl(event.getImageUrl())
-                .verified(event.getVerified())
+        return EventRecommendationResponse.fromEvent(event)
                 .score(score)
                 .distanceKm(distance > 0 ? distance : null)
                 .reasons(reasons)
@@ -377,7 +591,7 @@ public class RecommendationService {
     }
 
     // ✅ FIX 3: Async method MUST be public to be proxied
-    @Async
+    @Async("historyExecutor")
     public void saveToHistoryAsync(UUID userId, List<EventRecommendationResponse> recommendations) {
         try {
             int rank = 1;
@@ -417,25 +631,4 @@ public class RecommendationService {
             log.error("Error saving recommendations to history: {}", e.getMessage());
         }
     }
-
-    private double calculatePopularityOnly(EventDTO event) {
-        long totalInteractions = event.getTotalInteractions();
-        if (totalInteractions >= 100) return 1.0;
-        if (totalInteractions >= 50) return 0.7;
-        if (totalInteractions >= 20) return 0.4;
-        if (totalInteractions >= 5) return 0.2;
-        return 0.1;
-    }
-
-    private double calculateRecencyOnly(EventDTO event) {
-        if (event.getStartTime() == null) return 0.0;
-        LocalDateTime now = LocalDateTime.now();
-        long daysUntil = java.time.temporal.ChronoUnit.DAYS.between(now, event.getStartTime());
-        if (daysUntil < 0) return 0.0;
-        if (daysUntil <= 3) return 1.0;
-        if (daysUntil <= 7) return 0.8;
-        if (daysUntil <= 14) return 0.5;
-        if (daysUntil <= 30) return 0.3;
-        return 0.1;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package com.event.service;
+
+import com.event.dto.EventRecommendationResponse;
+
+import java.util.Arrays;
+
+/**
+ * Scores for one ranking pass, stored as parallel primitive arrays indexed by candidate position.
+ *
+ * Instances are reused per thread (see {@link #acquire(int, boolean)}), so a batch must not be kept
+ * beyond the request that scored it. Candidates rejected during scoring (e.g. outside the requested
+ * distance) have a final score of {@link Double#NEGATIVE_INFINITY}.
+ */
+public final class ScoreBatch {
+    // Largest batch kept per thread (~56 KB); bigger candidate sets get a one-off batch, so a single
+    // large request does not leave oversized arrays resident on every request thread
+    private static final int MAX_RETAINED_CAPACITY = 1024;
+
+    private static final ThreadLocal<ScoreBatch> REUSABLE = ThreadLocal.withInitial(() -> new ScoreBatch(256));
+
+    private double[] finalScore;
+    private double[] geo;
+    private double[] interest;
+    private double[] interaction;
+    private double[] popularity;
+    private double[] recency;
+    private double[] distance;
+    private int size;
+    private boolean coldStart;
+
+    private ScoreBatch(int capacity) {
+        allocate(capacity);
+    }
+
+    /**
+     * Get this thread's batch, cleared and sized for the given number of candidates, or a new batch
+     * when the candidates exceed the retained capacity
+     */
+    static ScoreBatch acquire(int size, boolean coldStart) {
+        ScoreBatch batch;
+        if (size > MAX_RETAINED_CAPACITY) {
+            batch = new ScoreBatch(size);
+        } else {
+            batch = REUSABLE.get();
+            if (batch.finalScore.length < size) {
+                batch.allocate(Math.min(Math.max(size, batch.finalScore.length * 2), MAX_RETAINED_CAPACITY));
+            }
+        }
+        batch.size = size;
+        batch.coldStart = coldStart;
+        Arrays.fill(batch.interaction, 0, size, 0.0);
+        Arrays.fill(batch.interest, 0, size, 0.0);
+        return batch;
+    }
+
+    private void allocate(int capacity) {
+        finalScore = new double[capacity];
+        geo = new double[capacity];
+        interest = new double[capacity];
+        interaction = new double[capacity];
+        popularity = new double[capacity];
+        recency = new double[capacity];
+        distance = new double[capacity];
+    }
+
+    void set(int i, double distanceKm, double geoScore, double interestScore, double interactionScore,
+             double popularityScore, double recencyScore, double score) {
+        distance[i] = distanceKm;
+        geo[i] = geoScore;
+        interest[i] = interestScore;
+        interaction[i] = interactionScore;
+        popularity[i] = popularityScore;
+        recency[i] = recencyScore;
+        finalScore[i] = score;
+    }
+
+    void reject(int i) {
+        finalScore[i] = Double.NEGATIVE_INFINITY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isColdStart() {
+        return coldStart;
+    }
+
+    public boolean isRejected(int i) {
+        return finalScore[i] == Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Final scores array; only the first {@link #size()} entries are meaningful
+     */
+    public double[] finalScores() {
+        return finalScore;
+    }
+
+    public double finalScore(int i) {
+        return finalScore[i];
+    }
+
+    public double geoScore(int i) {
+        return geo[i];
+    }
+
+    public double interestScore(int i) {
+        return interest[i];
+    }
+
+    public double interactionScore(int i) {
+        return interaction[i];
+    }
+
+    public double popularityScore(int i) {
+        return popularity[i];
+    }
+
+    public double recencyScore(int i) {
+        return recency[i];
+    }
+
+    public double distance(int i) {
+        return distance[i];
+    }
+
+    /**
+     * Build the response breakdown for one candidate; only called for candidates that are returned
+     */
+    public EventRecommendationResponse.ScoreBreakdown breakdown(int i) {
+        return EventRecommendationResponse.ScoreBreakdown.builder()
+                .geoScore(geo[i])
+                .interestScore(interest[i])
+                .interactionScore(interaction[i])
+                .popularityScore(popularity[i])
+                .recencyScore(recency[i])
+                .build();
+    }
+}
@@ -3,7 +3,7 @@ package com.event.service;
 import com.event.dto.EventDTO;
 import com.event.dto.InteractionDTO;
 import com.event.dto.UserPreferencesDTO;
-import com.event.util.GeoUtils;
+import com.event.util.DistanceKernel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,13 +11,17 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ScoringService {
+    private final CoInteractionModel coInteractionModel;
+    private final CategoryAffinityService categoryAffinityService;
+    private final CategoryDictionary categoryDictionary;
+    private final ProximityScorer proximityScorer;
+
     @Value("${recommendation.weights.geo}")
     private double geoWeight;
 
@@ -33,8 +37,12 @@ public class ScoringService {
     @Value("${recommendation.weights.recency}")
     private double recencyWeight;
 
+    // Share of the interaction score taken by co-interaction (the rest is category history)
+    @Value("${recommendation.co-interaction.blend:0.5}")
+    private double coInteractionBlend;
+
     /**
-     * Calculate overall recommendation score for an event
+     * Calculate overall recommendation scores for a set of candidate events
      *
      * Score = (geoWeight × geoScore) +
      *         (interestWeight × interestScore) +
@@ -42,177 +50,167 @@ public class ScoringService {
      *         (popularityWeight × popularityScore) +
      *         (recencyWeight × recencyScore)
      *
-     * @param event Event to score
+     * @param events Candidate events
      * @param user User preferences
      * @param interactions User's past interactions
-     * @param distance Distance from user to event (km)
-     * @return Map containing overall score and breakdown
+     * @param maxDistanceKm Candidates further than this are rejected (optional)
+     * @return Per-candidate scores, indexed like events
      */
-    public Map<String, Double> calculateScore(
-            EventDTO event,
+    public ScoreBatch calculateScores(
+            List<EventDTO> events,
             UserPreferencesDTO user,
             List<InteractionDTO> interactions,
-            double distance
+            Double maxDistanceKm
     ) {
-        // Calculate individual scores
-        double geoScore = calculateGeoScore(distance);
-        double interestScore = calculateInterestScore(user, event);
-        double interactionScore = calculateInteractionScore(event, interactions);
-        double popularityScore = calculatePopularityScore(event);
-        double recencyScore = calculateRecencyScore(event);
-
-        // Calculate weighted final score
-        double finalScore = (geoWeight * geoScore) +
-                (interestWeight * interestScore) +
-                (interactionWeight * interactionScore) +
-                (popularityWeight * popularityScore) +
-                (recencyWeight * recencyScore);
-
-        // Ensure score is between 0 and 1
-        finalScore = Math.max(0.0, Math.min(1.0, finalScore));
-
-        // Return score breakdown
-        Map<String, Double> scoreMap = new HashMap<>();
-        scoreMap.put("finalScore", finalScore);
-        scoreMap.put("geoScore", geoScore);
-        scoreMap.put("interestScore", interestScore);
-        scoreMap.put("interactionScore", interactionScore);
-        scoreMap.put("popularityScore", popularityScore);
-        scoreMap.put("recencyScore", recencyScore);
-
-        log.debug("Scored event {}: final={}, geo={}, interest={}, interaction={}, popularity={}, recency={}",
-                event.getTitle(), finalScore, geoScore, interestScore, interactionScore, popularityScore, recencyScore);
-
-        return scoreMap;
+        ScoreBatch batch = ScoreBatch.acquire(events.size(), false);
+        LocalDateTime now = LocalDateTime.now();
+        long nowMillis = System.currentTimeMillis();
+        CoInteractionModel.ItemScores coScores = coInteractionModel.scoresFor(interactions);
+        CategoryAffinity affinity = categoryAffinityService.forUser(user.getUserId(), interactions);
+        InterestProfile interests = categoryDictionary.interestProfile(user.getInterests());
+        DistanceKernel kernel = user.hasLocation() ? DistanceKernel.from(user.getLocation()) : null;
+
+        for (int i = 0; i < events.size(); i++) {
+            EventDTO event = events.get(i);
+            double distance = distanceTo(kernel, event, maxDistanceKm);
+            if (maxDistanceKm != null && distance > maxDistanceKm) {
+                batch.reject(i);
+                continue;
+            }
+
+            int category = categoryDictionary.idOf(event.getCategoryName());
+            double geoScore = calculateGeoScore(distance);
+            double interestScore = calculateInterestScore(interests, category);
+            double interactionScore = calculateInteractionScore(event, category, affinity, nowMillis, coScores);
+            double popularityScore = calculatePopularityScore(event);
+            double recencyScore = calculateRecencyScore(event, now);
+
+            double finalScore = (geoWeight * geoScore) +
+                    (interestWeight * interestScore) +
+                    (interactionWeight * interactionScore) +
+                    (popularityWeight * popularityScore) +
+                    (recencyWeight * recencyScore);
+
+            // Ensure score is between 0 and 1
+            finalScore = Math.max(0.0, Math.min(1.0, finalScore));
+
+            batch.set(i, distance, geoScore, interestScore, interactionScore, popularityScore, recencyScore, finalScore);
+        }
+
+        log.debug("Scored {} candidate events", events.size());
+        return batch;
     }
 
     /**
-     * Calculate cold start score (for users with no interactions)
+     * Calculate cold start scores (for users with no interactions)
      * Emphasizes geo and popularity over interest and interaction
      *
-     * @param event Event to score
+     * @param events Candidate events
      * @param user User preferences
-     * @param distance Distance from user to event
-     * @return Map containing overall score and breakdown
+     * @param maxDistanceKm Candidates further than this are rejected (optional)
+     * @return Per-candidate scores, indexed like events
      */
-    public Map<String, Double> calculateColdStartScore(
-            EventDTO event,
+    public ScoreBatch calculateColdStartScores(
+            List<EventDTO> events,
             UserPreferencesDTO user,
-            double distance
+            Double maxDistanceKm
     ) {
         // Adjust weights for cold start
         // Geo: 60%, Popularity: 30%, Recency: 10%
-        double coldStartGeoWeight = 0.60;
-        double coldStartPopularityWeight = 0.30;
+        // With interests set: Geo: 50%, Interest: 20%, Popularity: 20%, Recency: 10%
+        boolean withInterests = user.hasInterests();
+        double coldStartGeoWeight = withInterests ? 0.50 : 0.60;
+        double coldStartInterestWeight = withInterests ? 0.20 : 0.0;
+        double coldStartPopularityWeight = withInterests ? 0.20 : 0.30;
         double coldStartRecencyWeight = 0.10;
 
-        double geoScore = calculateGeoScore(distance);
-        double popularityScore = calculatePopularityScore(event);
-        double recencyScore = calculateRecencyScore(event);
+        ScoreBatch batch = ScoreBatch.acquire(events.size(), true);
+        LocalDateTime now = LocalDateTime.now();
+        InterestProfile interests = categoryDictionary.interestProfile(user.getInterests());
+        DistanceKernel kernel = user.hasLocation() ? DistanceKernel.from(user.getLocation()) : null;
+
+        for (int i = 0; i < events.size(); i++) {
+            EventDTO event = events.get(i);
+            double distance = distanceTo(kernel, event, maxDistanceKm);
+            if (maxDistanceKm != null && distance > maxDistanceKm) {
+                batch.reject(i);
+                continue;
+            }
 
-        // Interest score (if user has set interests)
-        double interestScore = 0.0;
-        if (user.hasInterests()) {
-            interestScore = calculateInterestScore(user, event);
-            // Blend in interest score (20% weight)
-            coldStartGeoWeight = 0.50;
-            coldStartPopularityWeight = 0.20;
-            double coldStartInterestWeight = 0.20;
+            double geoScore = calculateGeoScore(distance);
+            double interestScore = withInterests
+                    ? calculateInterestScore(interests, categoryDictionary.idOf(event.getCategoryName()))
+                    : 0.0;
+            double popularityScore = calculatePopularityScore(event);
+            double recencyScore = calculateRecencyScore(event, now);
 
             double finalScore = (coldStartGeoWeight * geoScore) +
                     (coldStartInterestWeight * interestScore) +
                     (coldStartPopularityWeight * popularityScore) +
                     (coldStartRecencyWeight * recencyScore);
 
-            Map<String, Double> scoreMap = new HashMap<>();
-            scoreMap.put("finalScore", Math.max(0.0, Math.min(1.0, finalScore)));
-            scoreMap.put("geoScore", geoScore);
-            scoreMap.put("interestScore", interestScore);
-            scoreMap.put("interactionScore", 0.0);
-            scoreMap.put("popularityScore", popularityScore);
-            scoreMap.put("recencyScore", recencyScore);
-            return scoreMap;
+            batch.set(i, distance, geoScore, interestScore, 0.0, popularityScore, recencyScore,
+                    Math.max(0.0, Math.min(1.0, finalScore)));
         }
 
-        double finalScore = (coldStartGeoWeight * geoScore) +
-                (coldStartPopularityWeight * popularityScore) +
-                (coldStartRecencyWeight * recencyScore);
-
-        Map<String, Double> scoreMap = new HashMap<>();
-        scoreMap.put("finalScore", Math.max(0.0, Math.min(1.0, finalScore)));
-        scoreMap.put("geoScore", geoScore);
-        scoreMap.put("interestScore", 0.0);
-        scoreMap.put("interactionScore", 0.0);
-        scoreMap.put("popularityScore", popularityScore);
-        scoreMap.put("recencyScore", recencyScore);
+        return batch;
+    }
 
-        return scoreMap;
+    /**
+     * Distance from the user to an event, 0 when either location is unknown.
+     * Exact near maxDistanceKm, so the radius filter never flips on approximation error.
+     */
+    private double distanceTo(DistanceKernel kernel, EventDTO event, Double maxDistanceKm) {
+        if (kernel == null || event.getLocation() == null) {
+            return 0.0;
+        }
+        return maxDistanceKm != null
+                ? kernel.distanceKm(event.getLocation(), maxDistanceKm)
+                : kernel.distanceKm(event.getLocation());
     }
 
     /**
      * Calculate geo score based on distance
-     * Closer events get higher scores
+     * Closer events get higher scores (continuous decay, see ProximityScorer)
      */
     private double calculateGeoScore(double distance) {
-        return GeoUtils.calculateGeoScore(distance);
+        return proximityScorer.score(distance);
     }
 
     /**
      * Calculate interest score based on category match
-     * 1.0 if event category matches user interests, 0.0 otherwise
+     * 1.0 if event category is one of the user's interests, the configured similarity
+     * to the closest interest otherwise (0.0 when unrelated)
      */
-    private double calculateInterestScore(UserPreferencesDTO user, EventDTO event) {
-        if (user.getInterests() == null || user.getInterests().isEmpty()) {
-            return 0.0;
-        }
-
-        if (event.getCategory() == null) {
+    private double calculateInterestScore(InterestProfile interests, int category) {
+        if (interests.isEmpty() || category < 0) {
             return 0.0;
         }
-
-        // Check if event category matches any user interest
-        String eventCategory = event.getCategoryName().toLowerCase();
-        for (String interest : user.getInterests()) {
-            if (interest.toLowerCase().equals(eventCategory)) {
-                return 1.0;
-            }
-        }
-
-        // TODO: Future enhancement - category similarity
-        // e.g., music and entertainment are similar
-
-        return 0.0;
+        return interests.score(category);
     }
 
     /**
-     * Calculate interaction score based on past user behavior
-     * Higher score for users who interacted with similar events
+     * Calculate interaction score based on past user behavior: same-category history blended with
+     * co-interaction (events liked by users who liked the same events as this user)
      */
-    private double calculateInteractionScore(EventDTO event, List<InteractionDTO> interactions) {
-        if (interactions == null || interactions.isEmpty()) {
-            return 0.0;
+    private double calculateInteractionScore(
+            EventDTO event, int category, CategoryAffinity affinity, long nowMillis,
+            CoInteractionModel.ItemScores coScores) {
+        double categoryScore = calculateCategoryInteractionScore(category, affinity, nowMillis);
+        if (coScores.isEmpty()) {
+            return categoryScore;
         }
+        return (1 - coInteractionBlend) * categoryScore + coInteractionBlend * coScores.get(event.getId());
+    }
 
-        // Count interactions with same category
-        long sameCategoryCount = interactions.stream()
-                .filter(i -> i.getCategory() != null &&
-                        i.getCategory().equalsIgnoreCase(event.getCategoryName()))
-                .count();
-
-        // Weight by interaction type
-        double weightedScore = interactions.stream()
-                .filter(i -> i.getCategory() != null &&
-                        i.getCategory().equalsIgnoreCase(event.getCategoryName()))
-                .mapToDouble(InteractionDTO::getInteractionWeight)
-                .sum();
+    /**
+     * Same-category share of the interaction score, read from the user's decayed category affinity
+     */
+    private double calculateCategoryInteractionScore(int category, CategoryAffinity affinity, long nowMillis) {
+        double weightedScore = affinity.get(category, nowMillis);
 
         // Normalize to 0-1 scale (cap at 10 interactions for max score)
-        double normalizedScore = Math.min(weightedScore / 10.0, 1.0);
-
-        log.debug("Interaction score for category {}: {} interactions, weighted score: {}, normalized: {}",
-                event.getCategory(), sameCategoryCount, weightedScore, normalizedScore);
-
-        return normalizedScore;
+        return Math.min(weightedScore / 10.0, 1.0);
     }
 
     /**
@@ -240,12 +238,11 @@ public class ScoringService {
      * Calculate recency score based on how soon event is happening
      * Events happening soon get higher scores
      */
-    private double calculateRecencyScore(EventDTO event) {
+    private double calculateRecencyScore(EventDTO event, LocalDateTime now) {
         if (event.getStartTime() == null) {
             return 0.0;
         }
 
-        LocalDateTime now = LocalDateTime.now();
         long daysUntilEvent = ChronoUnit.DAYS.between(now, event.getStartTime());
 
         // Events in the past get 0 score
@@ -273,37 +270,38 @@ public class ScoringService {
     public List<String> generateReasons(
             EventDTO event,
             UserPreferencesDTO user,
-            Map<String, Double> scores,
-            double distance
+            ScoreBatch scores,
+            int i
     ) {
         List<String> reasons = new java.util.ArrayList<>();
+        double distance = scores.distance(i);
 
         // Distance reason
-        if (scores.get("geoScore") >= 0.8) {
+        if (distance <= 10) {
             reasons.add("Only " + String.format("%.1f", distance) + " km away");
-        } else if (scores.get("geoScore") >= 0.5) {
+        } else if (distance <= 20) {
             reasons.add("Within your area (" + String.format("%.1f", distance) + " km)");
         }
 
         // Interest match reason
-        if (scores.get("interestScore") == 1.0) {
-            reasons.add("Matches your interest in " + event.getCategory());
+        if (scores.interestScore(i) == 1.0) {
+            reasons.add("Matches your interest in " + event.getCategoryName());
         }
 
         // Interaction reason
-        if (scores.get("interactionScore") >= 0.5) {
+        if (scores.interactionScore(i) >= 0.5) {
             reasons.add("Similar to events you've saved");
         }
 
         // Popularity reason
-        if (scores.get("popularityScore") >= 0.7) {
+        if (scores.popularityScore(i) >= 0.7) {
             reasons.add("Trending in your area");
         }
 
         // Recency reason
-        if (scores.get("recencyScore") == 1.0) {
+        if (scores.recencyScore(i) == 1.0) {
             reasons.add("Happening this weekend!");
-        } else if (scores.get("recencyScore") >= 0.8) {
+        } else if (scores.recencyScore(i) >= 0.8) {
             reasons.add("Coming up this week");
         }
 
@@ -0,0 +1,107 @@
+package com.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Client-credentials access token of this service's own Keycloak client, for service-only endpoints
+ * (event-service's interaction feed and background work that has no user token).
+ *
+ * The token is cached and fetched again shortly before it expires. Returns null when no client secret is
+ * configured or Keycloak cannot be reached, callers then get a 401 from the downstream service.
+ */
+@Slf4j
+@Service
+public class ServiceTokenProvider {
+    // Renew this long before expiry, so a token is never sent with seconds left on it
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+    private final RestClient tokenClient;
+    private final String tokenUri;
+    private final String clientId;
+    private final String clientSecret;
+
+    private volatile String token;
+    private volatile Instant expiresAt = Instant.EPOCH;
+
+    public ServiceTokenProvider(
+            HttpClient serviceHttpClient,
+            @Value("${services.auth.token-uri:}") String tokenUri,
+            @Value("${services.auth.client-id:recommendation-service}") String clientId,
+            @Value("${services.auth.client-secret:}") String clientSecret,
+            @Value("${services.auth.read-timeout-ms:2000}") long readTimeoutMs
+    ) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(serviceHttpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        this.tokenClient = RestClient.builder().requestFactory(factory).build();
+        this.tokenUri = tokenUri;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+    }
+
+    public boolean isConfigured() {
+        return !tokenUri.isBlank() && !clientSecret.isBlank();
+    }
+
+    /**
+     * A valid service token, or null if one cannot be obtained
+     */
+    public String getToken() {
+        String current = token;
+        if (current != null && Instant.now().isBefore(expiresAt)) {
+            return current;
+        }
+        return fetch();
+    }
+
+    private synchronized String fetch() {
+        // Another thread may have renewed it while this one waited
+        if (token != null && Instant.now().isBefore(expiresAt)) {
+            return token;
+        }
+        if (!isConfigured()) {
+            log.warn("No service credentials configured (services.auth), service-only calls will be rejected");
+            return null;
+        }
+
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "client_credentials");
+        form.add("client_id", clientId);
+        form.add("client_secret", clientSecret);
+
+        try {
+            Map<?, ?> body = tokenClient.post()
+                    .uri(tokenUri)
+                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                    .body(form)
+                    .retrieve()
+                    .body(Map.class);
+
+            if (body == null || body.get("access_token") == null) {
+                log.error("Token endpoint returned no access token for client {}", clientId);
+                return null;
+            }
+
+            long expiresIn = body.get("expires_in") instanceof Number n ? n.longValue() : 60;
+            token = (String) body.get("access_token");
+            expiresAt = Instant.now().plusSeconds(expiresIn).minus(EXPIRY_MARGIN);
+            return token;
+
+        } catch (Exception e) {
+            log.error("Error fetching service token for client {}: {}", clientId, e.getMessage());
+            return null;
+        }
+    }
+}
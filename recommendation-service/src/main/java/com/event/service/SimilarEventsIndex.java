@@ -0,0 +1,366 @@
+package com.event.service;
+
+import com.event.dto.EventDTO;
+import com.event.dto.EventRecommendationResponse;
+import com.event.dto.Location;
+import com.event.util.DistanceKernel;
+import com.event.util.TopK;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed similar-events neighbour lists over the whole indexed catalog.
+ *
+ * Neighbours share the target's category and are scored on spatial proximity, start-time proximity,
+ * popularity and co-interaction. Candidates are the target's nearest same-category events (from the
+ * event index's per-category grid, capped at max-candidates) and its co-interacted events; events with
+ * too few such peers are topped up with their category's most popular events.
+ *
+ * Lists are rebuilt in full on a fixed delay and patched in between: when an event changes, its own
+ * list is recomputed, along with the lists it appears in or could now enter. A reverse index
+ * (event -> lists containing it) keeps this local to the changed event's neighbourhood. Rebuilds are
+ * computed without holding the lock, so patches are never blocked behind one; events patched while a
+ * rebuild runs are patched again on the rebuilt lists before they are swapped in.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SimilarEventsIndex {
+    private static final List<String> SIMILAR_REASONS = Collections.singletonList("Similar to this event");
+
+    private final EventIndexService eventIndex;
+    private final CoInteractionModel coInteractionModel;
+    private final ProximityScorer proximityScorer;
+
+    @Value("${recommendation.similar.size:20}")
+    private int size;
+
+    @Value("${recommendation.similar.radius-km:50}")
+    private double radiusKm;
+
+    @Value("${recommendation.similar.max-candidates:100}")
+    private int maxCandidates;
+
+    @Value("${recommendation.similar.time-scale-days:7}")
+    private double timeScaleDays;
+
+    @Value("${recommendation.similar.weights.geo:0.4}")
+    private double geoWeight;
+
+    @Value("${recommendation.similar.weights.time:0.25}")
+    private double timeWeight;
+
+    @Value("${recommendation.similar.weights.popularity:0.15}")
+    private double popularityWeight;
+
+    @Value("${recommendation.similar.weights.co-interaction:0.2}")
+    private double coInteractionWeight;
+
+    private volatile Map<UUID, Neighbours> neighbours = new ConcurrentHashMap<>();
+    private volatile Map<UUID, Set<UUID>> referencedBy = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    // Events changed while a rebuild is computing, patched again on the rebuilt lists
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Similar events for an event, or null if the event has no neighbour list (unknown or not yet indexed)
+     */
+    public List<EventRecommendationResponse> getSimilar(UUID eventId, int limit) {
+        Neighbours list = neighbours.get(eventId);
+        if (list == null) return null;
+
+        List<EventRecommendationResponse> responses = new ArrayList<>(Math.min(limit, list.ids.length));
+        for (int i = 0; i < list.ids.length && responses.size() < limit; i++) {
+            Optional<EventDTO> event = eventIndex.get(list.ids[i]);
+            if (event.isEmpty()) continue;   // cancelled or started since the list was computed
+
+            responses.add(EventRecommendationResponse.fromEvent(event.get())
+                    .score((double) list.scores[i])
+                    .distanceKm(list.distances[i] > 0 ? (double) list.distances[i] : null)
+                    .reasons(SIMILAR_REASONS)
+                    .build());
+        }
+        return responses;
+    }
+
+    @Scheduled(
+            initialDelayString = "${recommendation.similar.initial-delay-ms:5000}",
+            fixedDelayString = "${recommendation.similar.rebuild-interval-ms:600000}"
+    )
+    public void rebuild() {
+        if (!eventIndex.isReady()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        pending.clear();
+        rebuilding = true;
+        try {
+            rebuildLists(start);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    private void rebuildLists(long start) {
+        List<EventDTO> events = eventIndex.findAll();
+
+        Map<String, List<EventDTO>> byCategory = new HashMap<>();
+        for (EventDTO event : events) {
+            if (event.getCategoryName() == null) continue;
+            byCategory.computeIfAbsent(event.getCategoryName().toLowerCase(), k -> new ArrayList<>()).add(event);
+        }
+        Map<String, List<EventDTO>> popular = new HashMap<>();
+        byCategory.forEach((category, members) -> popular.put(category, mostPopular(members)));
+
+        Map<UUID, Neighbours> builtNeighbours = new ConcurrentHashMap<>(events.size() * 2);
+        Map<UUID, Set<UUID>> builtReferences = new ConcurrentHashMap<>(events.size() * 2);
+        for (EventDTO target : events) {
+            Neighbours list = compute(target, popular.getOrDefault(categoryKey(target), List.of()));
+            if (list != null) {
+                link(target.getId(), list, builtNeighbours, builtReferences);
+            }
+        }
+
+        synchronized (this) {
+            neighbours = builtNeighbours;
+            referencedBy = builtReferences;
+            ready = true;
+
+            // Changes the rebuild may have read before they were applied to the event index
+            for (UUID eventId : pending) {
+                patch(eventId);
+            }
+            pending.clear();
+        }
+        log.info("Similar-events index rebuilt for {} events in {} ms", events.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Patch the lists affected by a change to one event (already applied to the event index)
+     */
+    public synchronized void update(UUID eventId) {
+        if (rebuilding) pending.add(eventId);
+        if (!ready) return;
+        patch(eventId);
+    }
+
+    private void patch(UUID eventId) {
+        Optional<EventDTO> changed = eventIndex.get(eventId);
+        if (changed.isEmpty()) {
+            removeLists(eventId);
+            return;
+        }
+
+        EventDTO event = changed.get();
+        // Most popular events per category, computed once for this patch
+        Map<String, List<EventDTO>> popularByCategory = new HashMap<>();
+        List<EventDTO> popular = popular(event, popularByCategory);
+
+        // Lists that contained the event (its category or location may have changed)
+        Set<UUID> affected = new HashSet<>(referencedBy.getOrDefault(eventId, Set.of()));
+
+        // Lists the event could now enter
+        DistanceKernel kernel = DistanceKernel.from(event.getLocation());
+        for (EventDTO candidate : candidates(event, popular)) {
+            Neighbours list = neighbours.get(candidate.getId());
+            if (list == null || list.ids.length < size
+                    || score(candidate, event, distance(kernel, candidate)) > list.minScore()) {
+                affected.add(candidate.getId());
+            }
+        }
+
+        recompute(event, popular);
+        for (UUID id : affected) {
+            if (id.equals(eventId)) continue;
+            eventIndex.get(id).ifPresentOrElse(
+                    target -> recompute(target, popular(target, popularByCategory)),
+                    () -> unlink(id)
+            );
+        }
+        log.debug("Similar-events index updated for event {} ({} lists patched)", eventId, affected.size() + 1);
+    }
+
+    /**
+     * Drop an event's list and recompute every list it appeared in
+     */
+    public synchronized void remove(UUID eventId) {
+        if (rebuilding) pending.add(eventId);
+        if (!ready) return;
+        removeLists(eventId);
+    }
+
+    private void removeLists(UUID eventId) {
+        unlink(eventId);
+        Set<UUID> containing = referencedBy.remove(eventId);
+        if (containing == null) return;
+
+        Map<String, List<EventDTO>> popularByCategory = new HashMap<>();
+        for (UUID id : containing) {
+            eventIndex.get(id).ifPresent(target -> recompute(target, popular(target, popularByCategory)));
+        }
+    }
+
+    private void recompute(EventDTO target, List<EventDTO> popular) {
+        unlink(target.getId());
+        Neighbours list = compute(target, popular);
+        if (list != null) {
+            link(target.getId(), list, neighbours, referencedBy);
+        }
+    }
+
+    private Neighbours compute(EventDTO target, List<EventDTO> popular) {
+        List<EventDTO> candidates = candidates(target, popular);
+        if (candidates.isEmpty()) return null;
+
+        DistanceKernel kernel = DistanceKernel.from(target.getLocation());
+        double[] scores = new double[candidates.size()];
+        double[] candidateDistances = new double[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            candidateDistances[i] = distance(kernel, candidates.get(i));
+            scores[i] = score(target, candidates.get(i), candidateDistances[i]);
+        }
+
+        int[] top = TopK.select(scores, candidates.size(), size);
+        UUID[] ids = new UUID[top.length];
+        float[] topScores = new float[top.length];
+        float[] distances = new float[top.length];
+        for (int pos = 0; pos < top.length; pos++) {
+            EventDTO event = candidates.get(top[pos]);
+            ids[pos] = event.getId();
+            topScores[pos] = (float) scores[top[pos]];
+            double distance = candidateDistances[top[pos]];
+            distances[pos] = distance == Double.MAX_VALUE ? 0f : (float) distance;
+        }
+        return new Neighbours(ids, topScores, distances);
+    }
+
+    /**
+     * The target's nearest same-category events and the events co-interacted with it, topped up with the
+     * category's most popular events
+     */
+    private List<EventDTO> candidates(EventDTO target, List<EventDTO> popular) {
+        String category = target.getCategoryName();
+        if (category == null) return List.of();
+
+        Map<UUID, EventDTO> candidates = new LinkedHashMap<>();
+        Location location = target.getLocation();
+        if (location != null && location.isValid()) {
+            // One spare slot, the target itself is its own nearest event
+            for (EventDTO event : eventIndex.findNearest(
+                    category, location.getLatitude(), location.getLongitude(), radiusKm, maxCandidates + 1)) {
+                candidates.put(event.getId(), event);
+            }
+        }
+        for (UUID id : coInteractionModel.alsoInteractedWith(target.getId(), size).keySet()) {
+            eventIndex.get(id)
+                    .filter(event -> category.equalsIgnoreCase(event.getCategoryName()))
+                    .ifPresent(event -> candidates.putIfAbsent(id, event));
+        }
+        if (candidates.size() <= size) {
+            for (EventDTO event : popular) {
+                candidates.putIfAbsent(event.getId(), event);
+            }
+        }
+        candidates.remove(target.getId());
+        return new ArrayList<>(candidates.values());
+    }
+
+    /**
+     * @param distance Distance between the two events in km, Double.MAX_VALUE when unknown
+     */
+    private double score(EventDTO target, EventDTO candidate, double distance) {
+        double geoScore = proximityScorer.score(distance);
+
+        double timeScore = 0.0;
+        if (target.getStartTime() != null && candidate.getStartTime() != null) {
+            double days = Math.abs(Duration.between(target.getStartTime(), candidate.getStartTime()).toHours()) / 24.0;
+            timeScore = Math.exp(-days / timeScaleDays);
+        }
+
+        return (geoWeight * geoScore)
+                + (timeWeight * timeScore)
+                + (popularityWeight * RankingService.popularityTier(candidate))
+                + (coInteractionWeight * coInteractionModel.similarity(target.getId(), candidate.getId()));
+    }
+
+    /**
+     * Distance from the kernel's origin in km, Double.MAX_VALUE when either location is unknown
+     */
+    private static double distance(DistanceKernel kernel, EventDTO event) {
+        return kernel != null ? kernel.distanceKm(event.getLocation()) : Double.MAX_VALUE;
+    }
+
+    /**
+     * The most popular events of the target's category, memoised per category for one patch
+     */
+    private List<EventDTO> popular(EventDTO target, Map<String, List<EventDTO>> popularByCategory) {
+        return popularByCategory.computeIfAbsent(categoryKey(target),
+                k -> mostPopular(eventIndex.findByCategory(target.getCategoryName())));
+    }
+
+    /**
+     * The category's most popular events (one spare slot, the target itself may be among them)
+     */
+    private List<EventDTO> mostPopular(List<EventDTO> members) {
+        double[] scores = new double[members.size()];
+        for (int i = 0; i < members.size(); i++) scores[i] = members.get(i).getTotalInteractions();
+
+        List<EventDTO> top = new ArrayList<>();
+        for (int i : TopK.select(scores, scores.length, size + 1)) top.add(members.get(i));
+        return top;
+    }
+
+    private static String categoryKey(EventDTO event) {
+        return event.getCategoryName() != null ? event.getCategoryName().toLowerCase() : "";
+    }
+
+    private static void link(UUID eventId, Neighbours list,
+                             Map<UUID, Neighbours> neighbours, Map<UUID, Set<UUID>> referencedBy) {
+        neighbours.put(eventId, list);
+        for (UUID neighbour : list.ids) {
+            referencedBy.computeIfAbsent(neighbour, k -> ConcurrentHashMap.newKeySet()).add(eventId);
+        }
+    }
+
+    private void unlink(UUID eventId) {
+        Neighbours previous = neighbours.remove(eventId);
+        if (previous == null) return;
+        for (UUID neighbour : previous.ids) {
+            Set<UUID> containing = referencedBy.get(neighbour);
+            if (containing != null) containing.remove(eventId);
+        }
+    }
+
+    /**
+     * Neighbour ids in descending score order, with their scores and distances from the target
+     */
+    private static final class Neighbours {
+        final UUID[] ids;
+        final float[] scores;
+        final float[] distances;
+
+        Neighbours(UUID[] ids, float[] scores, float[] distances) {
+            this.ids = ids;
+            this.scores = scores;
+            this.distances = distances;
+        }
+
+        double minScore() {
+            return scores.length > 0 ? scores[scores.length - 1] : Double.NEGATIVE_INFINITY;
+        }
+    }
+}
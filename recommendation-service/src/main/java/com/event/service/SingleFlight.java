@@ -0,0 +1,166 @@
+package com.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent cache-miss computations so only one runs per key.
+ *
+ * Within an instance, callers for a key already being computed wait for that computation.
+ * Across instances, the computing caller holds a short Redis lock (SET NX PX); callers on other
+ * instances poll the cache until the result lands. If the wait runs out, or Redis is unavailable,
+ * the caller computes on its own, so coalescing never turns into an outage.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SingleFlight {
+    private static final String LOCK_PREFIX = "recommendations:lock:";
+
+    // Delete the lock only if we still own it (it may have expired and been taken by someone else)
+    private static final RedisScript<Long> RELEASE_LOCK = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${recommendation.single-flight.lock-ttl-ms:10000}")
+    private long lockTtlMs;
+
+    @Value("${recommendation.single-flight.wait-ms:3000}")
+    private long waitMs;
+
+    @Value("${recommendation.single-flight.poll-interval-ms:50}")
+    private long pollIntervalMs;
+
+    /**
+     * @param key Cache key being computed
+     * @param lookup Cache read; returns null on a miss
+     * @param compute Computes the value and writes it to the cache
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> lookup, Supplier<T> compute) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            try {
+                // Background refreshes complete with null; callers then compute themselves
+                Object result = existing.get(lockTtlMs, TimeUnit.MILLISECONDS);
+                if (result != null) {
+                    return (T) result;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("In-flight computation for {} did not complete: {}", key, e.toString());
+            }
+            return compute.get();
+        }
+
+        try {
+            T result = executeAcrossInstances(key, lookup, compute);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Run the computation only if nobody (here or on another instance) is computing the key already.
+     * Used for background refreshes, where skipping is always safe.
+     *
+     * @return Whether the computation ran
+     */
+    public boolean tryExecute(String key, Runnable compute) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, mine) != null) {
+            return false;
+        }
+
+        try {
+            String lockKey = LOCK_PREFIX + key;
+            String token = UUID.randomUUID().toString();
+            if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, token, Duration.ofMillis(lockTtlMs)))) {
+                return false;
+            }
+
+            try {
+                compute.run();
+                return true;
+            } finally {
+                release(lockKey, token);
+            }
+        } finally {
+            mine.complete(null);
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private <T> T executeAcrossInstances(String key, Supplier<T> lookup, Supplier<T> compute) {
+        String lockKey = LOCK_PREFIX + key;
+        String token = UUID.randomUUID().toString();
+
+        Boolean acquired;
+        try {
+            acquired = stringRedisTemplate.opsForValue().setIfAbsent(lockKey, token, Duration.ofMillis(lockTtlMs));
+        } catch (Exception e) {
+            log.warn("Could not take lock for {}, computing without it: {}", key, e.getMessage());
+            return compute.get();
+        }
+
+        if (Boolean.TRUE.equals(acquired)) {
+            try {
+                // Another instance may have finished just before we took the lock
+                T cached = lookup.get();
+                return cached != null ? cached : compute.get();
+            } finally {
+                release(lockKey, token);
+            }
+        }
+
+        // Another instance is computing: wait for its result to land in the cache
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            T cached = lookup.get();
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        log.debug("Timed out waiting for {} from another instance, computing locally", key);
+        return compute.get();
+    }
+
+    private void release(String lockKey, String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_LOCK, List.of(lockKey), token);
+        } catch (Exception e) {
+            log.warn("Failed to release lock {}: {}", lockKey, e.getMessage());
+        }
+    }
+}
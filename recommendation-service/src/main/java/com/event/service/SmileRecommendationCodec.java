@@ -0,0 +1,48 @@
+package com.event.service;
+
+import com.event.dto.EventRecommendationResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Stores full recommendation responses as Smile (binary JSON) without embedded type metadata.
+ * Larger than the compact codec, but self-contained: reads never depend on the event index.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "recommendation.cache.codec", havingValue = "smile")
+public class SmileRecommendationCodec implements RecommendationCodec {
+    private static final TypeReference<List<EventRecommendationResponse>> LIST_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper smileMapper = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .build();
+
+    @Override
+    public byte[] encode(List<EventRecommendationResponse> recommendations) {
+        try {
+            return smileMapper.writeValueAsBytes(recommendations);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<EventRecommendationResponse> decode(byte[] bytes) {
+        try {
+            return smileMapper.readValue(bytes, LIST_TYPE);
+        } catch (IOException e) {
+            log.warn("Discarding unreadable cached recommendations: {}", e.getMessage());
+            return null;
+        }
+    }
+}
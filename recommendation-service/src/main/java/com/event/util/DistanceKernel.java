@@ -0,0 +1,77 @@
+package com.event.util;
+
+import com.event.dto.Location;
+
+/**
+ * Fast distances from one fixed origin (usually the user) to many points.
+ *
+ * Uses the equirectangular approximation with the origin's cos/sin(lat) precomputed, and the cosine
+ * of the mid-latitude taken from a first-order expansion around the origin, so each point costs a few
+ * multiplications and one sqrt. Within MAX_APPROX_KM the error stays well under 0.1%; farther points,
+ * and points close to a caller's radius boundary, fall back to Haversine.
+ */
+public final class DistanceKernel {
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double MAX_APPROX_KM = 100.0;
+    // Relative band around a radius boundary where the exact distance decides
+    private static final double BOUNDARY_TOLERANCE = 0.001;
+
+    private final Location origin;
+    private final double latRad;
+    private final double lonRad;
+    private final double cosLat;
+    private final double sinLat;
+
+    private DistanceKernel(Location origin) {
+        this.origin = origin;
+        this.latRad = Math.toRadians(origin.getLatitude());
+        this.lonRad = Math.toRadians(origin.getLongitude());
+        this.cosLat = Math.cos(latRad);
+        this.sinLat = Math.sin(latRad);
+    }
+
+    /**
+     * Kernel for an origin, or null when the origin is missing or invalid
+     */
+    public static DistanceKernel from(Location origin) {
+        return origin != null && origin.isValid() ? new DistanceKernel(origin) : null;
+    }
+
+    /**
+     * Distance in kilometers, Double.MAX_VALUE for a missing or invalid point (like GeoUtils)
+     */
+    public double distanceKm(Location point) {
+        if (point == null || !point.isValid()) {
+            return Double.MAX_VALUE;
+        }
+
+        double approx = approximateKm(point);
+        return approx <= MAX_APPROX_KM ? approx : GeoUtils.calculateDistance(origin, point);
+    }
+
+    /**
+     * Distance in kilometers, exact when it falls close enough to boundaryKm to change which side it is on
+     */
+    public double distanceKm(Location point, double boundaryKm) {
+        double distance = distanceKm(point);
+        if (distance != Double.MAX_VALUE && Math.abs(distance - boundaryKm) <= boundaryKm * BOUNDARY_TOLERANCE) {
+            return GeoUtils.calculateDistance(origin, point);
+        }
+        return distance;
+    }
+
+    public boolean isWithinRadius(Location point, double radiusKm) {
+        return distanceKm(point, radiusKm) <= radiusKm;
+    }
+
+    private double approximateKm(Location point) {
+        double dLat = Math.toRadians(point.getLatitude()) - latRad;
+        double dLon = Math.toRadians(point.getLongitude()) - lonRad;
+        if (dLon > Math.PI) dLon -= 2 * Math.PI;
+        else if (dLon < -Math.PI) dLon += 2 * Math.PI;
+
+        // cos(lat + dLat/2) ~ cos(lat) - sin(lat) * dLat/2
+        double x = dLon * (cosLat - sinLat * dLat * 0.5);
+        return EARTH_RADIUS_KM * Math.sqrt(x * x + dLat * dLat);
+    }
+}
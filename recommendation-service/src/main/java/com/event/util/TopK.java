@@ -0,0 +1,84 @@
+package com.event.util;
+
+public class TopK {
+    private TopK() {
+    }
+
+    /**
+     * Select the k highest scores using a bounded min-heap, O(n log k) instead of a full sort
+     *
+     * Entries scored {@link Double#NEGATIVE_INFINITY} are treated as rejected and never selected.
+     * Ties keep the earlier index first, so results are deterministic.
+     *
+     * @param scores Scores indexed by candidate position
+     * @param size Number of meaningful entries in scores
+     * @param k Number of entries to select
+     * @return Candidate positions ordered by descending score (length ≤ k)
+     */
+    public static int[] select(double[] scores, int size, int k) {
+        if (k <= 0 || size <= 0) {
+            return new int[0];
+        }
+
+        int[] heap = new int[Math.min(k, size)];
+        int heapSize = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (scores[i] == Double.NEGATIVE_INFINITY) continue;
+
+            if (heapSize < heap.length) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++, scores);
+            } else if (ranksBefore(i, heap[0], scores)) {
+                heap[0] = i;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+
+        // Drain the min-heap from the back so the result is in descending order
+        int[] result = new int[heapSize];
+        for (int pos = heapSize - 1; pos >= 0; pos--) {
+            result[pos] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, scores);
+        }
+        return result;
+    }
+
+    /**
+     * Whether candidate a ranks ahead of candidate b
+     */
+    private static boolean ranksBefore(int a, int b, double[] scores) {
+        int cmp = Double.compare(scores[a], scores[b]);
+        return cmp > 0 || (cmp == 0 && a < b);
+    }
+
+    private static void siftUp(int[] heap, int pos, double[] scores) {
+        int item = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!ranksBefore(heap[parent], item, scores)) break;
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores) {
+        if (size == 0) return;
+        int item = heap[0];
+        int pos = 0;
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && ranksBefore(heap[child], heap[right], scores)) {
+                child = right;
+            }
+            if (!ranksBefore(item, heap[child], scores)) break;
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = item;
+    }
+}
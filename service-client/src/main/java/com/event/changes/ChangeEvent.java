@@ -0,0 +1,60 @@
+package com.event.changes;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A change other services may need to react to (cache invalidation, index updates).
+ * Published by event-service and user-service to a Redis stream as flat string fields once the
+ * surrounding transaction commits, and read back by recommendation-service.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeEvent {
+    public static final String EVENT_UPDATED = "EVENT_UPDATED";
+    public static final String EVENT_STATUS_CHANGED = "EVENT_STATUS_CHANGED";
+    public static final String EVENT_DELETED = "EVENT_DELETED";
+    public static final String INTERACTION_RECORDED = "INTERACTION_RECORDED";
+    public static final String INTERACTION_REMOVED = "INTERACTION_REMOVED";
+    public static final String USER_PREFERENCES_UPDATED = "USER_PREFERENCES_UPDATED";
+    public static final String USER_LOCATION_UPDATED = "USER_LOCATION_UPDATED";
+
+    private String type;
+    private UUID eventId;
+    private UUID userId;
+    private String detail;      // e.g. the new status or the interaction type
+    private LocalDateTime occurredAt;   // when the change happened at the source, e.g. the interaction's createdAt
+
+    public Map<String, String> toFields() {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("type", type);
+        if (eventId != null) fields.put("eventId", eventId.toString());
+        if (userId != null) fields.put("userId", userId.toString());
+        if (detail != null) fields.put("detail", detail);
+        if (occurredAt != null) fields.put("occurredAt", occurredAt.toString());
+        return fields;
+    }
+
+    public static ChangeEvent fromFields(Map<String, String> fields) {
+        return ChangeEvent.builder()
+                .type(fields.get("type"))
+                .eventId(parseUuid(fields.get("eventId")))
+                .userId(parseUuid(fields.get("userId")))
+                .detail(fields.get("detail"))
+                .occurredAt(fields.get("occurredAt") != null ? LocalDateTime.parse(fields.get("occurredAt")) : null)
+                .build();
+    }
+
+    private static UUID parseUuid(String value) {
+        return value != null ? UUID.fromString(value) : null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.event.changes;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes {@link ChangeEvent}s to the change feed (a capped Redis stream).
+ *
+ * Events are only written after the transaction commits, so consumers never see a change
+ * that was rolled back. Publishing is best-effort: a Redis outage is logged and consumers
+ * fall back to their cache TTLs.
+ *
+ * Not a component, so services that only read the feed don't pick it up: publishing services @Import it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ChangeEventPublisher {
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${changes.stream.key}")
+    private String streamKey;
+
+    @Value("${changes.stream.max-length:100000}")
+    private long maxLength;
+
+    public void publish(ChangeEvent change) {
+        applicationEventPublisher.publishEvent(change);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChange(ChangeEvent change) {
+        try {
+            stringRedisTemplate.opsForStream().add(
+                    StreamRecords.string(change.toFields()).withStreamKey(streamKey),
+                    RedisStreamCommands.XAddOptions.maxlen(maxLength).approximateTrimming(true)
+            );
+            log.debug("Published {} to {}", change.getType(), streamKey);
+        } catch (Exception e) {
+            log.warn("Failed to publish {} to {}: {}", change.getType(), streamKey, e.getMessage());
+        }
+    }
+}
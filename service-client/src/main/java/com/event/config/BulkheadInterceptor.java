@@ -0,0 +1,115 @@
+package com.event.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of in-flight requests to one downstream service, so a slow service
+ * cannot tie up every request thread. Requests that cannot get a permit in time fail fast.
+ *
+ * The permit is held until the response is closed, since reading a slow body is as much
+ * in flight as waiting for the headers. RestClient closes it once the body is extracted.
+ */
+@Slf4j
+public class BulkheadInterceptor implements ClientHttpRequestInterceptor {
+    private final String clientName;
+    private final Semaphore permits;
+    private final long maxWaitMs;
+    private final Counter rejected;
+
+    public BulkheadInterceptor(String clientName, int maxConcurrent, long maxWaitMs, MeterRegistry meterRegistry) {
+        this.clientName = clientName;
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxWaitMs = maxWaitMs;
+        this.rejected = Counter.builder("http.client.bulkhead.rejected")
+                .description("Requests rejected because the downstream bulkhead was full")
+                .tag("client.name", clientName)
+                .register(meterRegistry);
+        meterRegistry.gauge("http.client.bulkhead.available", Tags.of("client.name", clientName),
+                permits, Semaphore::availablePermits);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for " + clientName + " bulkhead", e);
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            log.warn("Bulkhead full for {}, rejecting {} {}", clientName, request.getMethod(), request.getURI().getPath());
+            throw new IOException("Bulkhead full for " + clientName);
+        }
+
+        try {
+            return new PermitReleasingResponse(execution.execute(request, body), permits);
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the bulkhead permit (once) when the response is closed
+     */
+    private static final class PermitReleasingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingResponse(ClientHttpResponse delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.event.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Shared setup for inter-service RestClients, extended by each service's RestClientConfig, which
+ * declares the clients it needs.
+ *
+ * All clients share one JDK HttpClient, which keeps connections alive and reuses them across requests.
+ * Each client gets its own read timeout, bulkhead and retry policy. Request metrics are recorded per
+ * client and URI template as http.client.requests by the auto-configured RestClient.Builder.
+ */
+public abstract class RestClientConfigSupport {
+
+    @Value("${services.client.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${services.client.bulkhead-wait-ms:50}")
+    private long bulkheadWaitMs;
+
+    @Value("${services.client.retry.max-attempts:2}")
+    private int retryMaxAttempts;
+
+    @Value("${services.client.retry.base-backoff-ms:50}")
+    private long retryBaseBackoffMs;
+
+    @Bean
+    public HttpClient serviceHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    protected RestClient build(
+            RestClient.Builder builder,
+            HttpClient httpClient,
+            MeterRegistry meterRegistry,
+            String name,
+            String baseUrl,
+            long readTimeoutMs,
+            int maxConcurrent
+    ) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        // Order matters: the retry interceptor must be last so each attempt creates a fresh request
+        return builder
+                .baseUrl(baseUrl)
+                .requestFactory(factory)
+                .requestInterceptor(new BulkheadInterceptor(name, maxConcurrent, bulkheadWaitMs, meterRegistry))
+                .requestInterceptor(new RetryInterceptor(name, retryMaxAttempts, retryBaseBackoffMs, meterRegistry))
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.event.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries idempotent requests (GET/HEAD) on I/O errors and 502/503/504 responses,
+ * sleeping a random "full jitter" backoff between attempts.
+ *
+ * Timeouts are not retried: a second full read timeout would outlast the caller's deadline
+ * and keep its thread busy for a result nobody is waiting for.
+ */
+@Slf4j
+public class RetryInterceptor implements ClientHttpRequestInterceptor {
+    private final String clientName;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final Counter retries;
+
+    public RetryInterceptor(String clientName, int maxAttempts, long baseBackoffMs, MeterRegistry meterRegistry) {
+        this.clientName = clientName;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMs = baseBackoffMs;
+        this.retries = Counter.builder("http.client.retries")
+                .description("Retried requests to a downstream service")
+                .tag("client.name", clientName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!isIdempotent(request.getMethod())) {
+            return execution.execute(request, body);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            boolean lastAttempt = attempt >= maxAttempts;
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                int status = response.getStatusCode().value();
+                if (lastAttempt || !isRetryableStatus(status)) {
+                    return response;
+                }
+                response.close();
+                log.debug("Retrying {} {} after status {} (attempt {})", clientName, request.getURI().getPath(), status, attempt);
+            } catch (IOException e) {
+                if (lastAttempt || isTimeout(e)) throw e;
+                log.debug("Retrying {} {} after {} (attempt {})", clientName, request.getURI().getPath(), e.toString(), attempt);
+            }
+
+            retries.increment();
+            backoff(attempt);
+        }
+    }
+
+    private void backoff(int attempt) throws IOException {
+        long cap = baseBackoffMs << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during retry backoff for " + clientName, e);
+        }
+    }
+
+    private boolean isIdempotent(HttpMethod method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+    private boolean isTimeout(IOException e) {
+        return e instanceof HttpTimeoutException || e instanceof SocketTimeoutException;
+    }
+
+    private boolean isRetryableStatus(int status) {
+        return status == 502 || status == 503 || status == 504;
+    }
+}
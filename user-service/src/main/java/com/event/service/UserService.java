@@ -1,5 +1,7 @@
 package com.event.service;
 
+import com.event.changes.ChangeEvent;
+import com.event.changes.ChangeEventPublisher;
 import com.event.dto.*;
 import com.event.entity.User;
 import com.event.entity.UserRole;
@@ -24,6 +26,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
+    private final ChangeEventPublisher changeEventPublisher;
     private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
 
     @Transactional
@@ -82,6 +85,10 @@ public class UserService {
         }
 
         user = userRepository.save(user);
+        changeEventPublisher.publish(ChangeEvent.builder()
+                .type(ChangeEvent.USER_PREFERENCES_UPDATED)
+                .userId(id)
+                .build());
 
         return mapToResponse(user);
     }
@@ -100,6 +107,10 @@ public class UserService {
         }
 
         user = userRepository.save(user);
+        changeEventPublisher.publish(ChangeEvent.builder()
+                .type(ChangeEvent.USER_LOCATION_UPDATED)
+                .userId(id)
+                .build());
 
         return mapToResponse(user);
     }